@@ -0,0 +1,117 @@
+package uk.gov.hmcts.reform.ref.pup.benchmark;
+
+import uk.gov.hmcts.reform.ref.pup.domain.TimeOrderedUuidGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into an assignment shaped table already holding {@code benchmark.assignment.rows} rows, keyed by
+ * random (version 4) or time-ordered (version 7) UUIDs.
+ *
+ * <p>Runs against an in-memory H2 database of one million rows by default. The figures that matter come from
+ * PostgreSQL with a 10M row table, see the README for the system properties to pass.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AssignmentInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String CREATE_TABLE = "CREATE TABLE assignment_benchmark ("
+        + "uuid UUID PRIMARY KEY, payment_account_uuid UUID, address_uuid UUID, professional_user_uuid UUID)";
+
+    private static final String INSERT =
+        "INSERT INTO assignment_benchmark (uuid, payment_account_uuid, address_uuid, professional_user_uuid) VALUES (?, ?, ?, ?)";
+
+    @Param({"random", "timeOrdered"})
+    private String generator;
+
+    private Supplier<UUID> uuids;
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    private final UUID paymentAccount = UUID.randomUUID();
+
+    private final UUID address = UUID.randomUUID();
+
+    private final UUID professionalUser = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        uuids = "random".equals(generator) ? UUID::randomUUID : TimeOrderedUuidGenerator::nextUuid;
+
+        connection = DriverManager.getConnection(
+            System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"),
+            System.getProperty("benchmark.jdbc.username", "sa"),
+            System.getProperty("benchmark.jdbc.password", ""));
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS assignment_benchmark");
+            statement.execute(CREATE_TABLE);
+        }
+        connection.commit();
+
+        insert = connection.prepareStatement(INSERT);
+        long rows = Long.getLong("benchmark.assignment.rows", 1_000_000L);
+        for (long i = 0; i < rows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        insert.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE assignment_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insert() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, uuids.get());
+            insert.setObject(2, paymentAccount);
+            insert.setObject(3, address);
+            insert.setObject(4, professionalUser);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
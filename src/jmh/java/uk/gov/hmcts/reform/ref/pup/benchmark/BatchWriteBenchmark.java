@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.ref.pup.benchmark;
+
+import uk.gov.hmcts.reform.ref.pup.Application;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.service.AddressService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Address insert throughput through {@code AddressService.createAll}, with Hibernate JDBC batching off
+ * ({@code batchSize} 1) and on.
+ *
+ * <p>The application runs against an in-memory H2 database by default. Pass the {@code spring.datasource.*} system
+ * properties through {@code -PjmhJvmArgs} to measure against PostgreSQL, where {@code reWriteBatchedInserts} also
+ * applies.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchWriteBenchmark {
+
+    private static final int ADDRESSES = 100;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private AddressService addressService;
+
+    private UUID organisationUuid;
+
+    private final List<AddressCreation> addressCreations = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.datasource.platform=h2",
+                "spring.jpa.database=H2",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+            .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+
+        addressService = context.getBean(AddressService.class);
+
+        Organisation organisation = new Organisation();
+        organisation.setName("Benchmark LLP " + UUID.randomUUID());
+        organisationUuid = context.getBean(OrganisationRepository.class).save(organisation).getUuid();
+
+        for (int i = 0; i < ADDRESSES; i++) {
+            AddressCreation addressCreation = new AddressCreation();
+            addressCreation.setAddressLine1(i + " High Street");
+            addressCreation.setCity("London");
+            addressCreations.add(addressCreation);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADDRESSES)
+    public void createAll() throws ApplicationException {
+        addressService.createAll(organisationUuid, addressCreations);
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.ref.pup.benchmark;
+
+import uk.gov.hmcts.reform.ref.pup.domain.Address;
+import uk.gov.hmcts.reform.ref.pup.domain.AddressType;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.domain.OrganisationType;
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccountType;
+import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+
+import java.util.UUID;
+
+/**
+ * Builds detached entity graphs shaped like the production data, without touching a database.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Organisation organisation(int addresses, int paymentAccounts) {
+        Organisation organisation = new Organisation();
+        organisation.setUuid(UUID.randomUUID());
+        organisation.setName("Solicitor Firm LLP");
+        organisation.setOrganisationType(OrganisationType.LEGAL_REPRESENTATION);
+
+        for (int i = 0; i < addresses; i++) {
+            organisation.getAddresses().add(address(organisation, i));
+        }
+        for (int i = 0; i < paymentAccounts; i++) {
+            organisation.getPaymentAccounts().add(paymentAccount(organisation, i));
+        }
+        return organisation;
+    }
+
+    static Address address(Organisation organisation, int index) {
+        Address address = new Address();
+        address.setUuid(UUID.randomUUID());
+        address.setAddressLine1(index + " Petty France");
+        address.setAddressLine2("Westminster");
+        address.setCity("London");
+        address.setCounty("Greater London");
+        address.setCountry("United Kingdom");
+        address.setPostcode("SW1H 9AJ");
+        address.setAddressType(AddressType.values()[index % AddressType.values().length]);
+        address.setOrganisation(organisation);
+        return address;
+    }
+
+    static PaymentAccount paymentAccount(Organisation organisation, int index) {
+        PaymentAccount paymentAccount = new PaymentAccount();
+        paymentAccount.setUuid(UUID.randomUUID());
+        paymentAccount.setPbaNumber(String.format("PBA%07d", index));
+        paymentAccount.setPaymentAccountType(PaymentAccountType.values()[index % PaymentAccountType.values().length]);
+        paymentAccount.setOrganisation(organisation);
+        return paymentAccount;
+    }
+
+    static ProfessionalUser professionalUser(Organisation organisation) {
+        ProfessionalUser professionalUser = new ProfessionalUser();
+        professionalUser.setUuid(UUID.randomUUID());
+        professionalUser.setUserId(UUID.randomUUID().toString());
+        professionalUser.setFirstName("Alexis");
+        professionalUser.setSurname("Gayte");
+        professionalUser.setEmail("alexis.gayte@solicitor-firm.co.uk");
+        professionalUser.setPhoneNumber("+447591715204");
+        professionalUser.setOrganisation(organisation);
+        return professionalUser;
+    }
+}
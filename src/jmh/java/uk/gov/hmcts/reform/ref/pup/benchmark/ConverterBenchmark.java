@@ -0,0 +1,98 @@
+package uk.gov.hmcts.reform.ref.pup.benchmark;
+
+import uk.gov.hmcts.reform.ref.pup.converter.AddressConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.OrganisationConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.PaymentAccountConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserFullDetailConverter;
+import uk.gov.hmcts.reform.ref.pup.domain.Address;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressDto;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserFullDetailDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each converter, the organisation ones over an organisation of {@code organisationSize} addresses and
+ * twice as many payment accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"10", "1000"})
+    private int organisationSize;
+
+    private final AddressConverter addressConverter = new AddressConverter();
+
+    private final PaymentAccountConverter paymentAccountConverter = new PaymentAccountConverter();
+
+    private final ProfessionalUserConverter professionalUserConverter = new ProfessionalUserConverter();
+
+    private final OrganisationConverter organisationConverter = new OrganisationConverter(addressConverter);
+
+    private final ProfessionalUserFullDetailConverter professionalUserFullDetailConverter =
+        new ProfessionalUserFullDetailConverter(organisationConverter, paymentAccountConverter);
+
+    private Organisation organisation;
+
+    private Address address;
+
+    private PaymentAccount paymentAccount;
+
+    private ProfessionalUser professionalUser;
+
+    @Setup
+    public void setUp() {
+        organisation = BenchmarkData.organisation(organisationSize, 2 * organisationSize);
+        address = organisation.getAddresses().iterator().next();
+        paymentAccount = organisation.getPaymentAccounts().iterator().next();
+        professionalUser = BenchmarkData.professionalUser(organisation);
+    }
+
+    @Benchmark
+    public AddressDto address() {
+        return addressConverter.apply(address);
+    }
+
+    @Benchmark
+    public PaymentAccountDto paymentAccount() {
+        return paymentAccountConverter.apply(paymentAccount);
+    }
+
+    @Benchmark
+    public ProfessionalUserDto professionalUser() {
+        return professionalUserConverter.apply(professionalUser);
+    }
+
+    @Benchmark
+    public OrganisationDto organisation() {
+        return organisationConverter.apply(organisation);
+    }
+
+    @Benchmark
+    public ProfessionalUserFullDetailDto professionalUserFullDetail() {
+        return professionalUserFullDetailConverter.apply(professionalUser);
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.ref.pup.benchmark;
+
+import uk.gov.hmcts.reform.ref.pup.converter.AddressConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.OrganisationConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.PaymentAccountConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserFullDetailConverter;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserFullDetailDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the organisation and full-detail responses, alone and together with the conversion that precedes
+ * it on every request. The mapper is built the way Spring Boot builds the one used by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int organisationSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final PaymentAccountConverter paymentAccountConverter = new PaymentAccountConverter();
+
+    private final OrganisationConverter organisationConverter = new OrganisationConverter(new AddressConverter());
+
+    private final ProfessionalUserFullDetailConverter professionalUserFullDetailConverter =
+        new ProfessionalUserFullDetailConverter(organisationConverter, paymentAccountConverter);
+
+    private Organisation organisation;
+
+    private ProfessionalUser professionalUser;
+
+    private OrganisationDto organisationDto;
+
+    private ProfessionalUserFullDetailDto professionalUserFullDetailDto;
+
+    @Setup
+    public void setUp() {
+        organisation = BenchmarkData.organisation(organisationSize, 2 * organisationSize);
+        professionalUser = BenchmarkData.professionalUser(organisation);
+        organisationDto = organisationConverter.apply(organisation);
+        professionalUserFullDetailDto = professionalUserFullDetailConverter.apply(professionalUser);
+    }
+
+    @Benchmark
+    public byte[] organisationDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(organisationDto);
+    }
+
+    @Benchmark
+    public byte[] professionalUserFullDetailDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(professionalUserFullDetailDto);
+    }
+
+    @Benchmark
+    public byte[] organisationEndToEnd() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(organisationConverter.apply(organisation));
+    }
+
+    @Benchmark
+    public byte[] professionalUserFullDetailEndToEnd() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(professionalUserFullDetailConverter.apply(professionalUser));
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.hmcts.reform.ref.pup.benchmark;
+
+import uk.gov.hmcts.reform.ref.pup.Application;
+import uk.gov.hmcts.reform.ref.pup.converter.OrganisationConverter;
+import uk.gov.hmcts.reform.ref.pup.converter.PaymentAccountConverter;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.service.AddressService;
+import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
+import uk.gov.hmcts.reform.ref.pup.service.PaymentAccountService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latency of the organisation and payment account reads, loading the entities and converting them in a read-only
+ * transaction as the adaptors used to, against selecting the DTOs with the JPQL constructor projections.
+ *
+ * <p>{@code rows} is the number of addresses of the organisation and of payment accounts in its hierarchy. Run with
+ * the gc profiler to compare the allocation per read.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    @Param({"1", "50"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private OrganisationService organisationService;
+
+    private PaymentAccountService paymentAccountService;
+
+    private OrganisationConverter organisationConverter;
+
+    private PaymentAccountConverter paymentAccountConverter;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private UUID organisationUuid;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ApplicationException {
+        context = new SpringApplicationBuilder(Application.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.datasource.platform=h2",
+                "spring.jpa.database=H2",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+            .run();
+
+        organisationService = context.getBean(OrganisationService.class);
+        paymentAccountService = context.getBean(PaymentAccountService.class);
+        organisationConverter = context.getBean(OrganisationConverter.class);
+        paymentAccountConverter = context.getBean(PaymentAccountConverter.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        OrganisationCreation organisationCreation = new OrganisationCreation();
+        organisationCreation.setName("Benchmark LLP " + UUID.randomUUID());
+        organisationUuid = organisationService.create(organisationCreation).getUuid();
+
+        List<AddressCreation> addressCreations = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            AddressCreation addressCreation = new AddressCreation();
+            addressCreation.setAddressLine1(i + " High Street");
+            addressCreation.setCity("London");
+            addressCreations.add(addressCreation);
+
+            PaymentAccountCreation paymentAccountCreation = new PaymentAccountCreation();
+            paymentAccountCreation.setPbaNumber("PBA" + UUID.randomUUID());
+            paymentAccountCreation.setOrganisationId(organisationUuid);
+            paymentAccountService.create(paymentAccountCreation);
+        }
+        context.getBean(AddressService.class).createAll(organisationUuid, addressCreations);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrganisationDto organisationWithConverter() {
+        return readOnlyTransaction.execute(status -> {
+            try {
+                return organisationService.retrieve(organisationUuid).map(organisationConverter).orElse(null);
+            } catch (ApplicationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public OrganisationDto organisationWithProjection() throws ApplicationException {
+        return organisationService.retrieveDto(organisationUuid).orElse(null);
+    }
+
+    @Benchmark
+    public List<PaymentAccountDto> paymentAccountsWithConverter() {
+        return readOnlyTransaction.execute(status -> {
+            try {
+                return paymentAccountService.retrieveAllInHierarchyOf(organisationUuid).stream()
+                    .map(paymentAccountConverter)
+                    .collect(Collectors.toList());
+            } catch (ApplicationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<PaymentAccountDto> paymentAccountsWithProjection() throws ApplicationException {
+        return paymentAccountService.retrieveAllDtosInHierarchyOf(organisationUuid);
+    }
+}
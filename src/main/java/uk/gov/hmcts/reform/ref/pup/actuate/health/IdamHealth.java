@@ -5,8 +5,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 @Component
 @ConditionalOnProperty("toggle.includeidamhealth")
@@ -15,8 +16,19 @@ public class IdamHealth implements HealthIndicator {
     private final WebChecker idamWebChecker;
 
     @Autowired
-    public IdamHealth(@Value("${auth.idam.client.baseUrl}") String idam) {
-        idamWebChecker = new WebChecker("idam", idam, new RestTemplate());
+    public IdamHealth(@Value("${auth.idam.client.baseUrl}") String idam,
+                      @Value("${health-check.connect-timeout-ms}") int connectTimeout,
+                      @Value("${health-check.read-timeout-ms}") int readTimeout,
+                      RestTemplateBuilder restTemplateBuilder) {
+        idamWebChecker = new WebChecker("idam", idam, restTemplateBuilder
+            .setConnectTimeout(connectTimeout)
+            .setReadTimeout(readTimeout)
+            .build());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health-check.interval-ms}")
+    public void refresh() {
+        idamWebChecker.refresh();
     }
 
     @Override
@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.ref.pup.actuate.health;
+
+import uk.gov.hmcts.reform.ref.pup.datasource.ReadReplica;
+import uk.gov.hmcts.reform.ref.pup.datasource.ReadReplicaRoutingDataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * Checks the replication lag of the read replicas in the background, reads only go to those that passed.
+ */
+@Component
+@ConditionalOnProperty("toggle.readreplicas")
+public class ReadReplicasHealth implements HealthIndicator {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    public ReadReplicasHealth(DataSource dataSource) throws SQLException {
+        this.routingDataSource = dataSource.unwrap(ReadReplicaRoutingDataSource.class);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${read-replicas.check-interval-ms}")
+    public void refresh() {
+        routingDataSource.checkReplicas();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        for (ReadReplica replica : routingDataSource.getReplicas()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("available", replica.isAvailable());
+            details.put("lagMs", replica.getLagMs());
+            if (replica.getError() != null) {
+                details.put("error", replica.getError());
+            }
+            builder.withDetail(replica.getName(), details);
+        }
+        return builder.build();
+    }
+}
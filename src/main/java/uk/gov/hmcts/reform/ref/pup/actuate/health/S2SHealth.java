@@ -5,8 +5,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 @Component
 @ConditionalOnProperty("toggle.includes2shealth")
@@ -15,8 +16,19 @@ public class S2SHealth implements HealthIndicator {
     private final WebChecker idamServiceWebChecker;
 
     @Autowired
-    public S2SHealth(@Value("${auth.provider.service.client.baseUrl}") String idamService) {
-        idamServiceWebChecker = new WebChecker("s2s", idamService, new RestTemplate());
+    public S2SHealth(@Value("${auth.provider.service.client.baseUrl}") String idamService,
+                     @Value("${health-check.connect-timeout-ms}") int connectTimeout,
+                     @Value("${health-check.read-timeout-ms}") int readTimeout,
+                     RestTemplateBuilder restTemplateBuilder) {
+        idamServiceWebChecker = new WebChecker("s2s", idamService, restTemplateBuilder
+            .setConnectTimeout(connectTimeout)
+            .setReadTimeout(readTimeout)
+            .build());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health-check.interval-ms}")
+    public void refresh() {
+        idamServiceWebChecker.refresh();
     }
 
     @Override
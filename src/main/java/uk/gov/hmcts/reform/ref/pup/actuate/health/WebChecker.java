@@ -8,8 +8,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
+/**
+ * Polls the health endpoint of a remote dependency and keeps the last known status, so that {@link #health()} answers
+ * from memory instead of calling the dependency on every probe. {@link #refresh()} is meant to be called from a
+ * background schedule, the status is UNKNOWN until the first poll completes.
+ */
 public class WebChecker {
 
     private final String name;
@@ -17,6 +25,10 @@ public class WebChecker {
     private final RestTemplate restTemplate;
     private static final Logger log = LoggerFactory.getLogger(WebChecker.class);
 
+    private volatile Health lastHealth = Health.unknown().build();
+    private long consecutiveFailures;
+    private long totalFailures;
+
     @Autowired
     public WebChecker(String name, String url, RestTemplate restTemplate) {
         this.name = name;
@@ -25,8 +37,28 @@ public class WebChecker {
     }
 
     public Health health() {
-        final Health.Builder healthBuilder = new Health.Builder();
-        return getStatus() ? healthBuilder.up().build() : healthBuilder.down().build();
+        return lastHealth;
+    }
+
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        boolean up = getStatus();
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (up) {
+            consecutiveFailures = 0;
+        } else {
+            consecutiveFailures++;
+            totalFailures++;
+        }
+
+        final Health.Builder healthBuilder = up ? Health.up() : Health.down();
+        lastHealth = healthBuilder
+            .withDetail("latencyMs", latency)
+            .withDetail("consecutiveFailures", consecutiveFailures)
+            .withDetail("totalFailures", totalFailures)
+            .withDetail("lastChecked", Instant.now().toString())
+            .build();
     }
 
     private boolean getStatus() {
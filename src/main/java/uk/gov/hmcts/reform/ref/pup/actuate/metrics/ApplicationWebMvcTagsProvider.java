@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.ref.pup.actuate.metrics;
+
+import org.springframework.boot.actuate.metrics.web.servlet.DefaultWebMvcTagsProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Adds the outcome and the {@code ApplicationErrorCode} of the response to the default {@code http.server.requests}
+ * tags. The error code is set as a request attribute by the exception handler, as the exception it resolves never
+ * reaches the metrics filter.
+ */
+@Component
+public class ApplicationWebMvcTagsProvider extends DefaultWebMvcTagsProvider {
+
+    public static final String ERROR_CODE_ATTRIBUTE = ApplicationWebMvcTagsProvider.class.getName() + ".errorCode";
+
+    static final String NONE = "none";
+
+    @Override
+    public Iterable<Tag> httpRequestTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+        return Tags.of(super.httpRequestTags(request, response, handler, exception))
+            .and(outcome(response), errorCode(request));
+    }
+
+    static Tag outcome(HttpServletResponse response) {
+        if (response == null) {
+            return Tag.of("outcome", "UNKNOWN");
+        }
+        HttpStatus.Series series = HttpStatus.Series.valueOf(response.getStatus());
+        return Tag.of("outcome", series.name());
+    }
+
+    private static Tag errorCode(HttpServletRequest request) {
+        Object errorCode = request.getAttribute(ERROR_CODE_ATTRIBUTE);
+        return Tag.of("errorCode", errorCode == null ? NONE : errorCode.toString());
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.hmcts.reform.ref.pup.actuate.metrics;
+
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every service adaptor and repository call, with a percentile histogram, under {@code pup.adaptor.calls} and
+ * {@code pup.repository.calls}. Calls are tagged by class, method, outcome and, for adaptors, the
+ * {@code ApplicationErrorCode} they failed with.
+ */
+@Aspect
+@Component
+public class TimedCallsAspect {
+
+    static final String ADAPTOR_TIMER = "pup.adaptor.calls";
+    static final String REPOSITORY_TIMER = "pup.repository.calls";
+
+    private static final String REPOSITORY_PACKAGE = "uk.gov.hmcts.reform.ref.pup.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Timers by name, class, method, outcome and error code, building and registering one on every call is costly.
+     */
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TimedCallsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(uk.gov.hmcts.reform.ref.pup.service.adaptor..*)")
+    public Object timeAdaptor(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(ADAPTOR_TIMER, "adaptor", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, "repository", repositoryName(joinPoint), joinPoint);
+    }
+
+    private Object time(String name, String classTag, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "SUCCESS";
+        String errorCode = ApplicationWebMvcTagsProvider.NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (ApplicationException e) {
+            outcome = "ERROR";
+            errorCode = e.getApplicationErrorCode().name();
+            throw e;
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            timer(name, classTag, className, joinPoint.getSignature().getName(), outcome, errorCode)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String classTag, String className, String method, String outcome, String errorCode) {
+        return timers.computeIfAbsent(Arrays.asList(name, className, method, outcome, errorCode), key -> Timer.builder(name)
+            .tag(classTag, className)
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .tag("errorCode", errorCode)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    /**
+     * Spring Data repositories are JDK proxies backed by {@code SimpleJpaRepository}, the proxied interface of the
+     * application is the meaningful name.
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        return repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), proxyClass -> {
+            for (Class<?> proxiedInterface : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+                if (proxiedInterface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return proxiedInterface.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+}
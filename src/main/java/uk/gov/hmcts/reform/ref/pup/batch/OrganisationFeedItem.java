@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.ref.pup.batch;
+
+import lombok.Data;
+
+@Data
+public class OrganisationFeedItem {
+
+    private String organisationName;
+
+    private String pbaNumber;
+
+    private String email;
+
+}
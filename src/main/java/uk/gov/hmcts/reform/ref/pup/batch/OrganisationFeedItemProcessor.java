@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.ref.pup.batch;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrganisationFeedItemProcessor implements ItemProcessor<OrganisationFeedItem, OrganisationFeedItem> {
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    @Override
+    public OrganisationFeedItem process(OrganisationFeedItem item) {
+        String organisationName = clean(item.getOrganisationName());
+        String pbaNumber = clean(item.getPbaNumber());
+
+        if (organisationName == null || pbaNumber == null) {
+            return null;
+        }
+
+        OrganisationFeedItem cleaned = new OrganisationFeedItem();
+        cleaned.setOrganisationName(organisationName);
+        cleaned.setPbaNumber(pbaNumber.toUpperCase());
+        cleaned.setEmail(clean(item.getEmail()));
+        return cleaned;
+    }
+
+    private String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String cleaned = value.replace(BYTE_ORDER_MARK, "").trim();
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+}
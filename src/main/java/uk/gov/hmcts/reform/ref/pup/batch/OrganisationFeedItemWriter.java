@@ -0,0 +1,177 @@
+package uk.gov.hmcts.reform.ref.pup.batch;
+
+import uk.gov.hmcts.reform.ref.pup.cache.ProfessionalUserFullDetailCache;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.domain.OrganisationType;
+import uk.gov.hmcts.reform.ref.pup.domain.TimeOrderedUuidGenerator;
+import uk.gov.hmcts.reform.ref.pup.repository.ChangeEventRepository;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Writes a chunk of feed rows with one JDBC batch per table, only inserting the rows whose name or PBA number is not
+ * used by a row that is not deleted. The feed carries no IDAM id nor name, its emails do not create professional
+ * users. The rows inserted are appended to the change feed in the chunk transaction, and the caches are evicted once
+ * it commits.
+ */
+@Component
+public class OrganisationFeedItemWriter implements ItemWriter<OrganisationFeedItem> {
+
+    static final String INSERT_ORGANISATION =
+        "INSERT INTO organisation (uuid, name, organisation_type) "
+            + "SELECT ?, ?, ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM organisation WHERE name = ? AND deleted IS NULL)";
+
+    // Feed organisations have no parent, each one is a root of the hierarchy.
+    static final String INSERT_ORGANISATION_CLOSURE =
+        "INSERT INTO organisation_closure (ancestor_uuid, descendant_uuid, depth) "
+            + "SELECT o.uuid, o.uuid, 0 FROM organisation o "
+            + "WHERE o.name = ? AND o.deleted IS NULL AND NOT EXISTS (SELECT 1 FROM organisation_closure c WHERE c.ancestor_uuid = o.uuid AND c.descendant_uuid = o.uuid)";
+
+    static final String INSERT_PAYMENT_ACCOUNT =
+        "INSERT INTO payment_account (uuid, pba_number, organisation_uuid) "
+            + "SELECT ?, ?, o.uuid FROM organisation o "
+            + "WHERE o.name = ? AND o.deleted IS NULL AND NOT EXISTS (SELECT 1 FROM payment_account WHERE pba_number = ? AND deleted IS NULL)";
+
+    static final String INCREMENT_ORGANISATION_VERSION =
+        "UPDATE organisation SET version = version + 1 WHERE name = ? AND deleted IS NULL";
+
+    static final String DELETE_USER_PROFILE_VIEWS =
+        "DELETE FROM user_profile_view WHERE user_id IN ("
+            + "SELECT u.user_id FROM professional_user u JOIN organisation o ON o.uuid = u.organisation_uuid WHERE o.name = ?)";
+
+    static final String SELECT_INSERTED_ORGANISATIONS = "SELECT uuid FROM organisation WHERE uuid IN (%s)";
+
+    static final String SELECT_INSERTED_PAYMENT_ACCOUNTS = "SELECT pba_number, organisation_uuid FROM payment_account WHERE uuid IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ChangeEventRepository changeEventRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public OrganisationFeedItemWriter(JdbcTemplate jdbcTemplate, ChangeEventRepository changeEventRepository,
+                                      EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeEventRepository = changeEventRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void write(List<? extends OrganisationFeedItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        List<UUID> organisationUuids = nextUuids(items.size());
+        jdbcTemplate.batchUpdate(INSERT_ORGANISATION, IntStream.range(0, items.size())
+            .mapToObj(i -> new Object[] {
+                organisationUuids.get(i), items.get(i).getOrganisationName(), OrganisationType.LEGAL_REPRESENTATION.name(),
+                items.get(i).getOrganisationName()
+            })
+            .collect(Collectors.toList()));
+
+        jdbcTemplate.batchUpdate(INSERT_ORGANISATION_CLOSURE, items.stream()
+            .map(OrganisationFeedItem::getOrganisationName)
+            .distinct()
+            .map(organisationName -> new Object[] {organisationName})
+            .collect(Collectors.toList()));
+
+        List<UUID> paymentAccountUuids = nextUuids(items.size());
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_ACCOUNT, IntStream.range(0, items.size())
+            .mapToObj(i -> new Object[] {
+                paymentAccountUuids.get(i), items.get(i).getPbaNumber(), items.get(i).getOrganisationName(), items.get(i).getPbaNumber()
+            })
+            .collect(Collectors.toList()));
+
+        // New payment accounts change the organisation aggregate, its version is the ETag clients revalidate with.
+        // Rewritten batches do not report per row counts, so every organisation of the chunk is bumped.
+        jdbcTemplate.batchUpdate(INCREMENT_ORGANISATION_VERSION, items.stream()
+            .map(OrganisationFeedItem::getOrganisationName)
+            .distinct()
+            .map(organisationName -> new Object[] {organisationName})
+            .collect(Collectors.toList()));
+
+        jdbcTemplate.batchUpdate(DELETE_USER_PROFILE_VIEWS, items.stream()
+            .map(OrganisationFeedItem::getOrganisationName)
+            .distinct()
+            .map(organisationName -> new Object[] {organisationName})
+            .collect(Collectors.toList()));
+
+        changeEventRepository.appendAll(insertedChangeEvents(organisationUuids, paymentAccountUuids));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evictCaches();
+                }
+            });
+        } else {
+            evictCaches();
+        }
+    }
+
+    /**
+     * The guards skip rows without a trace, so the uuids of the chunk found in the tables are those of the rows
+     * inserted. Their events are appended last, the sequence row stays locked for the rest of the chunk transaction.
+     */
+    private List<ChangeEvent> insertedChangeEvents(List<UUID> organisationUuids, List<UUID> paymentAccountUuids) {
+        List<ChangeEvent> changeEvents = new ArrayList<>();
+        changeEvents.addAll(jdbcTemplate.query(inClause(SELECT_INSERTED_ORGANISATIONS, organisationUuids.size()), organisationUuids.toArray(),
+            (resultSet, rowNum) -> {
+                UUID uuid = UUID.fromString(resultSet.getString("uuid"));
+                return ChangeEvent.of(ChangeEntityType.ORGANISATION, uuid, ChangeType.CREATED, uuid);
+            }));
+        changeEvents.addAll(jdbcTemplate.query(inClause(SELECT_INSERTED_PAYMENT_ACCOUNTS, paymentAccountUuids.size()), paymentAccountUuids.toArray(),
+            (resultSet, rowNum) -> ChangeEvent.of(ChangeEntityType.PAYMENT_ACCOUNT, resultSet.getString("pba_number"), ChangeType.CREATED,
+                UUID.fromString(resultSet.getString("organisation_uuid")))));
+        return changeEvents;
+    }
+
+    private static String inClause(String sql, int size) {
+        return String.format(sql, String.join(", ", Collections.nCopies(size, "?")));
+    }
+
+    private static List<UUID> nextUuids(int size) {
+        return IntStream.range(0, size)
+            .mapToObj(i -> TimeOrderedUuidGenerator.nextUuid())
+            .collect(Collectors.toList());
+    }
+
+    private void evictCaches() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityRegion(Organisation.class);
+        cache.evictCollectionRegion(Organisation.class.getName() + ".paymentAccounts");
+        cache.evictQueryRegions();
+
+        org.springframework.cache.Cache fullDetailCache = cacheManager.getCache(ProfessionalUserFullDetailCache.NAME);
+        if (fullDetailCache != null) {
+            fullDetailCache.clear();
+        }
+    }
+}
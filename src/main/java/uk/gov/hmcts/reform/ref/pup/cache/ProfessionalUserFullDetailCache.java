@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.ref.pup.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Evicts the in-memory /pup/mine responses of the users affected by a write, once it commits.
+ */
+@Component
+public class ProfessionalUserFullDetailCache {
+
+    public static final String NAME = "professionalUserFullDetail";
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public ProfessionalUserFullDetailCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evict(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userIds);
+                }
+            });
+        } else {
+            evictNow(userIds);
+        }
+    }
+
+    private void evictNow(Collection<String> userIds) {
+        Cache cache = cacheManager.getCache(NAME);
+        if (cache != null) {
+            userIds.forEach(cache::evict);
+        }
+    }
+}
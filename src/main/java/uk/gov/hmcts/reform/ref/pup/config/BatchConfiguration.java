@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.ref.pup.config;
+
+import uk.gov.hmcts.reform.ref.pup.batch.OrganisationFeedItem;
+import uk.gov.hmcts.reform.ref.pup.batch.OrganisationFeedItemProcessor;
+import uk.gov.hmcts.reform.ref.pup.batch.OrganisationFeedItemWriter;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@EnableBatchProcessing
+public class BatchConfiguration {
+
+    public static final String ORGANISATION_FEED_JOB = "organisationFeedJob";
+
+    public static final String INPUT_FILE_PARAMETER = "input.file";
+
+    @Value("${organisation-feed.chunk-size}")
+    private int chunkSize;
+
+    @Value("${organisation-feed.skip-limit}")
+    private int skipLimit;
+
+    @Bean
+    @StepScope
+    public FlatFileItemReader<OrganisationFeedItem> organisationFeedReader(@Value("#{jobParameters['" + INPUT_FILE_PARAMETER + "']}") Resource input) {
+        return new FlatFileItemReaderBuilder<OrganisationFeedItem>()
+            .name("organisationFeedReader")
+            .resource(input)
+            .encoding(StandardCharsets.UTF_8.name())
+            .delimited()
+            .names(new String[] {"organisationName", "pbaNumber", "email"})
+            .targetType(OrganisationFeedItem.class)
+            .build();
+    }
+
+    @Bean
+    public Step organisationFeedStep(StepBuilderFactory stepBuilderFactory,
+                                     OrganisationFeedItemProcessor organisationFeedItemProcessor,
+                                     OrganisationFeedItemWriter organisationFeedItemWriter) {
+        return stepBuilderFactory.get("organisationFeedStep")
+            .<OrganisationFeedItem, OrganisationFeedItem>chunk(chunkSize)
+            .reader(organisationFeedReader(null))
+            .processor(organisationFeedItemProcessor)
+            .writer(organisationFeedItemWriter)
+            .faultTolerant()
+            .skip(FlatFileParseException.class)
+            .skipLimit(skipLimit)
+            .build();
+    }
+
+    @Bean
+    public Job organisationFeedJob(JobBuilderFactory jobBuilderFactory, Step organisationFeedStep) {
+        return jobBuilderFactory.get(ORGANISATION_FEED_JOB)
+            .start(organisationFeedStep)
+            .build();
+    }
+
+}
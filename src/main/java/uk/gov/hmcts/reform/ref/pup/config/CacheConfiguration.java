@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.ref.pup.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /**
+     * Publishes the Hibernate statistics, second-level and query cache hit ratios included, on the metrics endpoint.
+     */
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory, "entityManagerFactory", Collections.emptyList());
+    }
+
+}
@@ -5,9 +5,13 @@ import org.springframework.boot.actuate.autoconfigure.system.DiskSpaceHealthIndi
 import org.springframework.boot.actuate.system.DiskSpaceHealthIndicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 
 @Configuration
+@EnableScheduling
 public class HealthCheckConfiguration {
 
     @Bean
@@ -21,4 +25,12 @@ public class HealthCheckConfiguration {
         );
     }
 
+    @Bean
+    TaskScheduler taskScheduler(@Value("${scheduling.pool-size}") int poolSize) {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(poolSize);
+        taskScheduler.setThreadNamePrefix("scheduling-");
+        return taskScheduler;
+    }
+
 }
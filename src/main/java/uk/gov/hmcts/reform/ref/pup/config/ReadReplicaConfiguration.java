@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.ref.pup.config;
+
+import uk.gov.hmcts.reform.ref.pup.datasource.ReadReplica;
+import uk.gov.hmcts.reform.ref.pup.datasource.ReadReplicaJpaDialect;
+import uk.gov.hmcts.reform.ref.pup.datasource.ReadReplicaRoutingDataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to the read replicas listed in {@code read-replicas.urls}.
+ */
+@Configuration
+@ConditionalOnProperty("toggle.readreplicas")
+public class ReadReplicaConfiguration {
+
+    private final List<HikariDataSource> replicaDataSources = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primaryDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaryDataSource.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        return primaryDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 @Value("${read-replicas.urls}") String[] replicaUrls,
+                                 @Value("${read-replicas.lag-query}") String lagQuery,
+                                 @Value("${read-replicas.max-lag-ms}") long maxLagMs,
+                                 @Value("${read-replicas.check-interval-ms}") long checkIntervalMs,
+                                 MeterRegistry meterRegistry) {
+        List<ReadReplica> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            HikariConfig replicaConfig = new HikariConfig();
+            primaryDataSource.copyStateTo(replicaConfig);
+            replicaConfig.setPoolName("replica-" + (replicas.size() + 1));
+            replicaConfig.setJdbcUrl(replicaUrl.trim());
+            replicaConfig.setReadOnly(true);
+            // A replica that is down at startup is only skipped, it does not prevent the application from starting.
+            replicaConfig.setInitializationFailTimeout(-1);
+            replicaConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            HikariDataSource replicaDataSource = new HikariDataSource(replicaConfig);
+            replicaDataSources.add(replicaDataSource);
+            replicas.add(new ReadReplica(replicaConfig.getPoolName(), replicaDataSource, lagQuery, maxLagMs));
+        }
+
+        // Outside of a request, a write is on the replicas admitted by the next check once the maximum lag has passed.
+        return new LazyConnectionDataSourceProxy(
+            new ReadReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs + checkIntervalMs, meterRegistry));
+    }
+
+    @Bean
+    public static BeanPostProcessor readReplicaJpaDialectPostProcessor(ObjectProvider<DataSource> dataSource) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    ((AbstractEntityManagerFactoryBean) bean).setJpaDialect(new ReadReplicaJpaDialect(dataSource));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter readReplicaPrimaryPinFilter(DataSource dataSource) throws SQLException {
+        ReadReplicaRoutingDataSource routingDataSource = dataSource.unwrap(ReadReplicaRoutingDataSource.class);
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    routingDataSource.clearPrimaryPin();
+                }
+            }
+        };
+    }
+
+    @PreDestroy
+    public void closeReplicaDataSources() {
+        replicaDataSources.forEach(HikariDataSource::close);
+    }
+
+}
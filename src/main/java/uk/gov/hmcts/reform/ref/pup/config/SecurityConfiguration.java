@@ -4,8 +4,10 @@ import uk.gov.hmcts.reform.auth.checker.core.RequestAuthorizer;
 import uk.gov.hmcts.reform.auth.checker.core.service.Service;
 import uk.gov.hmcts.reform.auth.checker.core.user.User;
 import uk.gov.hmcts.reform.auth.checker.spring.serviceanduser.AuthCheckerServiceAndUserFilter;
+import uk.gov.hmcts.reform.ref.pup.security.CachingRequestAuthorizer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,20 +15,40 @@ import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Clock;
+import java.time.Duration;
+
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
+    private static final String SERVICE_AUTHORIZATION_HEADER = "ServiceAuthorization";
+    private static final String USER_AUTHORIZATION_HEADER = "Authorization";
+
     private final AuthCheckerServiceAndUserFilter serviceAndUserFilter;
 
     @Autowired
     public SecurityConfiguration(final RequestAuthorizer<User> userRequestAuthorizer,
                                  final RequestAuthorizer<Service> serviceRequestAuthorizer,
-                                 final AuthenticationManager authenticationManager) {
+                                 final AuthenticationManager authenticationManager,
+                                 final MeterRegistry meterRegistry,
+                                 @Value("${authorization.cache.maximum-size}") final long cacheMaximumSize,
+                                 @Value("${authorization.cache.time-to-live-seconds}") final long cacheTimeToLiveSeconds) {
+
+        CachingRequestAuthorizer<Service> cachingServiceRequestAuthorizer = new CachingRequestAuthorizer<>(
+            serviceRequestAuthorizer, SERVICE_AUTHORIZATION_HEADER, cacheMaximumSize, Duration.ofSeconds(cacheTimeToLiveSeconds), Clock.systemUTC());
+        CachingRequestAuthorizer<User> cachingUserRequestAuthorizer = new CachingRequestAuthorizer<>(
+            userRequestAuthorizer, USER_AUTHORIZATION_HEADER, cacheMaximumSize, Duration.ofSeconds(cacheTimeToLiveSeconds), Clock.systemUTC());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cachingServiceRequestAuthorizer.getCache(), "s2sAuthorisation");
+        CaffeineCacheMetrics.monitor(meterRegistry, cachingUserRequestAuthorizer.getCache(), "idamAuthorisation");
 
-        this.serviceAndUserFilter = new AuthCheckerServiceAndUserFilter(serviceRequestAuthorizer, userRequestAuthorizer);
+        this.serviceAndUserFilter = new AuthCheckerServiceAndUserFilter(cachingServiceRequestAuthorizer, cachingUserRequestAuthorizer);
         this.serviceAndUserFilter.setAuthenticationManager(authenticationManager);
     }
 
@@ -53,7 +75,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                 "/favicon.ico",
                 "/health",
                 "/mappings",
-                "/info");
+                "/info",
+                "/prometheus");
     }
 
 }
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.ref.pup.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class UserProfileViewConfiguration {
+
+    /**
+     * Rebuilds the user profile views after the writes commit. Rebuilds submitted while the queue is full are dropped,
+     * the backfill stores their documents later.
+     */
+    @Bean
+    ThreadPoolTaskExecutor userProfileViewExecutor(@Value("${user-profile-view.pool-size}") int poolSize,
+                                                   @Value("${user-profile-view.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        taskExecutor.setThreadNamePrefix("user-profile-view-");
+        return taskExecutor;
+    }
+
+}
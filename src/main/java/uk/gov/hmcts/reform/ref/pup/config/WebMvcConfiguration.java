@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.ref.pup.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    /**
+     * The request attribute a handler sets to give its streamed response a timeout of its own, in milliseconds, instead
+     * of the container default.
+     */
+    public static final String ASYNC_REQUEST_TIMEOUT_ATTRIBUTE = WebMvcConfiguration.class.getName() + ".ASYNC_REQUEST_TIMEOUT";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncRequestTimeoutInterceptor());
+    }
+
+    /**
+     * Applies the timeout of the handler just before the async processing starts with it.
+     */
+    private static class AsyncRequestTimeoutInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            Object timeout = request.getAttribute(ASYNC_REQUEST_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (timeout instanceof Long && request instanceof AsyncWebRequest) {
+                ((AsyncWebRequest) request).setTimeout((Long) timeout);
+            }
+        }
+    }
+
+}
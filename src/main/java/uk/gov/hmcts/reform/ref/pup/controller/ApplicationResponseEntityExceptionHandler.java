@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.ref.pup.controller;
 
+import uk.gov.hmcts.reform.ref.pup.actuate.metrics.ApplicationWebMvcTagsProvider;
 import uk.gov.hmcts.reform.ref.pup.dto.ReasonResponse;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -37,6 +39,7 @@ public class ApplicationResponseEntityExceptionHandler extends ResponseEntityExc
     public ResponseEntity<Object> handleAccessDeniedException(Exception ex, WebRequest request) {
         ApplicationErrorCode campaignErrorCode = ((ApplicationException) ex).getApplicationErrorCode();
         String errorCodeFullName = ex.getClass().getSimpleName() + "." + campaignErrorCode.name();
+        request.setAttribute(ApplicationWebMvcTagsProvider.ERROR_CODE_ATTRIBUTE, campaignErrorCode.name(), RequestAttributes.SCOPE_REQUEST);
 
         ReasonResponse reasonResponse = new ReasonResponse(messageSource.getMessage(errorCodeFullName, null, Locale.ENGLISH), ((ApplicationException) ex).getMessage());
 
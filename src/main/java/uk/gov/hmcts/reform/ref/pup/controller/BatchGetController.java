@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.ref.pup.controller;
+
+import uk.gov.hmcts.reform.ref.pup.dto.BatchGetDto;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.PaymentAccountServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserServiceAdaptor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.List;
+
+/**
+ * Multi-get endpoints, mapped outside of the resource controllers as a {@code :batchGet} suffix can not be joined to
+ * their base path.
+ */
+@RestController
+@RequestMapping("pup")
+public class BatchGetController {
+
+    private final PaymentAccountServiceAdaptor paymentAccountService;
+    private final ProfessionalUserServiceAdaptor professionalUserService;
+
+    @Autowired
+    public BatchGetController(PaymentAccountServiceAdaptor paymentAccountService, ProfessionalUserServiceAdaptor professionalUserService) {
+        this.paymentAccountService = paymentAccountService;
+        this.professionalUserService = professionalUserService;
+    }
+
+    @PostMapping("payment-accounts:batchGet")
+    @ApiOperation("Retrieve up to " + BatchGetDto.MAX_KEYS + " Payment Accounts by PBA number.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = BatchGetDto.class)
+    })
+    public ResponseEntity<BatchGetDto<PaymentAccountDto>> batchGetPaymentAccounts(@RequestBody List<String> pbaNumbers) throws ApplicationException {
+        return ResponseEntity.ok(paymentAccountService.retrieveAll(pbaNumbers));
+    }
+
+    @PostMapping("professional-users:batchGet")
+    @ApiOperation("Retrieve up to " + BatchGetDto.MAX_KEYS + " Professional Users by user id.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = BatchGetDto.class)
+    })
+    public ResponseEntity<BatchGetDto<ProfessionalUserDto>> batchGetProfessionalUsers(@RequestBody List<String> userIds) throws ApplicationException {
+        return ResponseEntity.ok(professionalUserService.retrieveAll(userIds));
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.ref.pup.controller;
+
+import uk.gov.hmcts.reform.ref.pup.dto.ChangeFeedDto;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ChangeEventServiceAdaptor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("pup/changes")
+public class ChangeController {
+
+    private final ChangeEventServiceAdaptor changeEventService;
+
+    @Autowired
+    public ChangeController(ChangeEventServiceAdaptor changeEventService) {
+        this.changeEventService = changeEventService;
+    }
+
+    @GetMapping
+    @ApiOperation("List the changes of organisations, addresses, payment accounts and professional users in order. Pass the next value of a batch as since to get the following one.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = ChangeFeedDto.class)
+    })
+    public ResponseEntity<ChangeFeedDto> listChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + ChangeFeedDto.DEFAULT_SIZE) int size) {
+
+        return ResponseEntity.ok(changeEventService.retrieveSince(since, size));
+    }
+
+}
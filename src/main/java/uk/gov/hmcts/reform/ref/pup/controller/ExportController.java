@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.ref.pup.controller;
+
+import uk.gov.hmcts.reform.ref.pup.config.WebMvcConfiguration;
+import uk.gov.hmcts.reform.ref.pup.service.ExportService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("pup/export")
+public class ExportController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    private final long requestTimeout;
+
+    @Autowired
+    public ExportController(ExportService exportService, @Value("${export.request-timeout-ms}") long requestTimeout) {
+        this.exportService = exportService;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @GetMapping
+    @ApiOperation("Export all organisations, addresses, payment accounts and professional users as gzip-compressed newline-delimited JSON.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success")
+    })
+    public ResponseEntity<StreamingResponseBody> export(HttpServletRequest request) {
+        // The whole dataset is streamed, only this response outlives the container default.
+        request.setAttribute(WebMvcConfiguration.ASYNC_REQUEST_TIMEOUT_ATTRIBUTE, requestTimeout);
+
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            exportService.export(gzipOutputStream);
+            gzipOutputStream.finish();
+        };
+
+        return ResponseEntity.ok()
+                             .contentType(APPLICATION_NDJSON)
+                             .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reference-data.ndjson.gz\"")
+                             .body(body);
+    }
+}
@@ -1,11 +1,18 @@
 package uk.gov.hmcts.reform.ref.pup.controller;
 
 import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.CursorPageDto;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationParentUpdate;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.AddressServiceAdaptor;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.OrganisationServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.PaymentAccountServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserServiceAdaptor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,14 +20,18 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,11 +44,16 @@ public class OrganisationController {
     private static final ResponseEntity<OrganisationDto> NOT_FOUND_RESPONSE = ResponseEntity.notFound().build();
     private final OrganisationServiceAdaptor organisationService;
     private final AddressServiceAdaptor addressService;
+    private final ProfessionalUserServiceAdaptor professionalUserService;
+    private final PaymentAccountServiceAdaptor paymentAccountService;
 
     @Autowired
-    public OrganisationController(OrganisationServiceAdaptor organisationService, AddressServiceAdaptor addressService) {
+    public OrganisationController(OrganisationServiceAdaptor organisationService, AddressServiceAdaptor addressService, ProfessionalUserServiceAdaptor professionalUserService,
+            PaymentAccountServiceAdaptor paymentAccountService) {
         this.organisationService = organisationService;
         this.addressService = addressService;
+        this.professionalUserService = professionalUserService;
+        this.paymentAccountService = paymentAccountService;
     }
 
     @PostMapping
@@ -49,18 +65,35 @@ public class OrganisationController {
         return ResponseEntity.ok(organisationService.create(organisation));
     }
 
+    @GetMapping
+    @ApiOperation("List Organisations by name, optionally filtered by a name prefix. Pass the nextCursor of a page to get the following one.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = CursorPageDto.class)
+    })
+    public ResponseEntity<CursorPageDto<OrganisationDto>> listOrganisations(
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPageDto.DEFAULT_SIZE) int size) throws ApplicationException {
+
+        return ResponseEntity.ok(organisationService.search(namePrefix, cursor, size));
+    }
+
     @GetMapping(value = "{organisationUuid}")
     @ApiOperation("Retrieve Organisation.")
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Success", response = OrganisationDto.class)
     })
-    public ResponseEntity<OrganisationDto> getOrganisation(@PathVariable String organisationUuid) throws ApplicationException {
-        Optional<OrganisationDto> organisation = organisationService.retrieve(UUID.fromString(organisationUuid));
-        if (!organisation.isPresent()) {
+    public ResponseEntity<OrganisationDto> getOrganisation(@PathVariable String organisationUuid, WebRequest webRequest) throws ApplicationException {
+        Optional<String> eTag = organisationService.retrieveETag(UUID.fromString(organisationUuid));
+        if (!eTag.isPresent()) {
             return NOT_FOUND_RESPONSE;
         }
+        if (webRequest.checkNotModified(eTag.get())) {
+            // Answered from the version alone, the organisation and its addresses are not loaded.
+            return null;
+        }
 
-        return ResponseEntity.ok(organisation.get());
+        return organisationResponse(organisationUuid, eTag.get());
     }
 
     @DeleteMapping(value = "{organisationUuid}")
@@ -73,6 +106,36 @@ public class OrganisationController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("{organisationUuid}/parent")
+    @ApiOperation("Move Organisation, with all its branches, under another parent Organisation, or make it a root without parentOrganisationId.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success", response = OrganisationDto.class)
+    })
+    public ResponseEntity<OrganisationDto> moveOrganisation(
+            @PathVariable String organisationUuid,
+            @RequestBody OrganisationParentUpdate parentUpdate) throws ApplicationException {
+
+        return ResponseEntity.ok(organisationService.moveUnder(UUID.fromString(organisationUuid), parentUpdate));
+    }
+
+    @GetMapping("{organisationUuid}/descendants")
+    @ApiOperation("List all the branches of the Organisation, at any depth, nearest first.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = OrganisationDto.class, responseContainer = "List")
+    })
+    public ResponseEntity<List<OrganisationDto>> getOrganisationDescendants(@PathVariable String organisationUuid) throws ApplicationException {
+        return ResponseEntity.ok(organisationService.retrieveDescendants(UUID.fromString(organisationUuid)));
+    }
+
+    @GetMapping("{organisationUuid}/payment-accounts")
+    @ApiOperation("List the Payment Accounts of the Organisation and of all its branches.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = PaymentAccountDto.class, responseContainer = "List")
+    })
+    public ResponseEntity<List<PaymentAccountDto>> getOrganisationPaymentAccounts(@PathVariable String organisationUuid) throws ApplicationException {
+        return ResponseEntity.ok(paymentAccountService.retrieveAllInHierarchyOf(UUID.fromString(organisationUuid)));
+    }
+
     @PostMapping("{organisationUuid}/addresses")
     @ApiOperation("Create Address.")
     @ApiResponses(value = {
@@ -84,7 +147,51 @@ public class OrganisationController {
 
         addressService.create(UUID.fromString(organisationUuid), address);
 
-        return getOrganisation(organisationUuid);
+        return organisationResponse(organisationUuid);
+    }
+
+    @PostMapping("{organisationUuid}/addresses:batch")
+    @ApiOperation("Create Addresses in batch.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success", response = OrganisationDto.class)
+    })
+    public ResponseEntity<OrganisationDto> addOrganisationAddresses(
+            @PathVariable String organisationUuid,
+            @RequestBody List<AddressCreation> addresses) throws ApplicationException {
+
+        addressService.createAll(UUID.fromString(organisationUuid), addresses);
+
+        return organisationResponse(organisationUuid);
+    }
+
+    @PostMapping("{organisationUuid}/professional-users:batch")
+    @ApiOperation("Create Professional Users of the Organisation in batch, the organisationId of each user is ignored.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success", response = ProfessionalUserDto.class, responseContainer = "List")
+    })
+    public ResponseEntity<List<ProfessionalUserDto>> addOrganisationProfessionalUsers(
+            @PathVariable String organisationUuid,
+            @RequestBody List<ProfessionalUserCreation> professionalUsers) throws ApplicationException {
+
+        return ResponseEntity.ok(professionalUserService.createAll(UUID.fromString(organisationUuid), professionalUsers));
+    }
+
+    private ResponseEntity<OrganisationDto> organisationResponse(String organisationUuid) throws ApplicationException {
+        Optional<String> eTag = organisationService.retrieveETag(UUID.fromString(organisationUuid));
+        if (!eTag.isPresent()) {
+            return NOT_FOUND_RESPONSE;
+        }
+
+        return organisationResponse(organisationUuid, eTag.get());
+    }
+
+    private ResponseEntity<OrganisationDto> organisationResponse(String organisationUuid, String eTag) throws ApplicationException {
+        Optional<OrganisationDto> organisation = organisationService.retrieve(UUID.fromString(organisationUuid));
+        if (!organisation.isPresent()) {
+            return NOT_FOUND_RESPONSE;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(organisation.get());
     }
 
 }
@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.ref.pup.controller;
 
 import uk.gov.hmcts.reform.auth.checker.spring.serviceanduser.ServiceAndUserDetails;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignment;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignmentResult;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -53,7 +55,15 @@ public class PaymentAccountController {
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Success", response = PaymentAccountDto.class)
     })
-    public ResponseEntity<PaymentAccountDto> getProfessionalUser(@PathVariable String pbaNumber) throws ApplicationException {
+    public ResponseEntity<PaymentAccountDto> getProfessionalUser(@PathVariable String pbaNumber, WebRequest webRequest) throws ApplicationException {
+
+        Optional<String> eTag = paymentAccountService.retrieveETag(pbaNumber);
+        if (!eTag.isPresent()) {
+            return NOT_FOUND_RESPONSE;
+        }
+        if (webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
 
         Optional<PaymentAccountDto> paymentAccount = paymentAccountService.retrieve(pbaNumber);
 
@@ -61,7 +71,7 @@ public class PaymentAccountController {
             return NOT_FOUND_RESPONSE;
         }
 
-        return ResponseEntity.ok(paymentAccount.get());
+        return ResponseEntity.ok().eTag(eTag.get()).body(paymentAccount.get());
     }
 
     @DeleteMapping(value = "{pbaNumber}")
@@ -99,6 +109,18 @@ public class PaymentAccountController {
         return ResponseEntity.ok(paymentAccount);
     }
 
+    @PostMapping(value = "{pbaNumber}/assignments:batch")
+    @ApiOperation("Assign a payment account to several users and addresses, reporting the outcome of each assignment.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success", response = PaymentAccountAssignmentResult.class, responseContainer = "List")
+    })
+    public ResponseEntity<List<PaymentAccountAssignmentResult>> assignPaymentAccountsInBatch(
+            @PathVariable String pbaNumber,
+            @RequestBody List<PaymentAccountAssignment> paymentAccountAssignments) throws ApplicationException {
+
+        return ResponseEntity.ok(paymentAccountService.assignAll(pbaNumber, paymentAccountAssignments));
+    }
+
     @PostMapping(value = "{pbaNumber}/unassign")
     @ApiOperation("Unassign a payment account.")
     @ApiResponses(value = {
@@ -1,9 +1,12 @@
 package uk.gov.hmcts.reform.ref.pup.controller;
 
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.CursorPageDto;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.OrganisationServiceAdaptor;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserServiceAdaptor;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,13 +17,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import javax.validation.Valid;
 
@@ -30,10 +36,12 @@ public class ProfessionalUserController {
 
     private static final ResponseEntity<ProfessionalUserDto> NOT_FOUND_RESPONSE = ResponseEntity.notFound().build();
     private final ProfessionalUserServiceAdaptor professionalUserService;
+    private final OrganisationServiceAdaptor organisationService;
 
     @Autowired
-    public ProfessionalUserController(ProfessionalUserServiceAdaptor professionalUserService) {
+    public ProfessionalUserController(ProfessionalUserServiceAdaptor professionalUserService, OrganisationServiceAdaptor organisationService) {
         this.professionalUserService = professionalUserService;
+        this.organisationService = organisationService;
     }
 
     @PostMapping
@@ -45,18 +53,51 @@ public class ProfessionalUserController {
         return ResponseEntity.ok(professionalUserService.create(professionalUser));
     }
 
+    @GetMapping
+    @ApiOperation("List Professional Users by user id, optionally filtered by organisation and email domain. Pass the nextCursor of a page to get the following one.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = CursorPageDto.class)
+    })
+    public ResponseEntity<CursorPageDto<ProfessionalUserDto>> listProfessionalUsers(
+            @RequestParam(required = false) UUID organisationId,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPageDto.DEFAULT_SIZE) int size) throws ApplicationException {
+
+        return ResponseEntity.ok(professionalUserService.search(organisationId, emailDomain, cursor, size));
+    }
+
     @GetMapping(value = "{userId}")
     @ApiOperation("Retrieve Professional User.")
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Success", response = ProfessionalUser.class)
     })
-    public ResponseEntity<ProfessionalUserDto> getProfessionalUser(@PathVariable String userId) throws ApplicationException {
+    public ResponseEntity<ProfessionalUserDto> getProfessionalUser(@PathVariable String userId, WebRequest webRequest) throws ApplicationException {
+        Optional<String> eTag = professionalUserService.retrieveETag(userId);
+        if (!eTag.isPresent()) {
+            return NOT_FOUND_RESPONSE;
+        }
+        if (webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
+
         Optional<ProfessionalUserDto> professionalUser = professionalUserService.retrieve(userId);
         if (!professionalUser.isPresent()) {
             return NOT_FOUND_RESPONSE;
         }
 
-        return ResponseEntity.ok(professionalUser.get());
+        return ResponseEntity.ok().eTag(eTag.get()).body(professionalUser.get());
+    }
+
+    @GetMapping(value = "{userId}/root-organisation")
+    @ApiOperation("Retrieve the root Organisation of the hierarchy the Professional User belongs to.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Success", response = OrganisationDto.class)
+    })
+    public ResponseEntity<OrganisationDto> getRootOrganisation(@PathVariable String userId) throws ApplicationException {
+        return organisationService.retrieveRootForProfessionalUser(userId)
+                                  .map(ResponseEntity::ok)
+                                  .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping(value = "{userId}")
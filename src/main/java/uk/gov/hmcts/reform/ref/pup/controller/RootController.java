@@ -12,6 +12,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -37,7 +38,7 @@ public class RootController {
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Success", response = PaymentAccountDto.class)
     })
-    public ResponseEntity<ProfessionalUserFullDetailDto> myFullDetail(@AuthenticationPrincipal ServiceAndUserDetails userDetails) throws ApplicationException {
+    public ResponseEntity<ProfessionalUserFullDetailDto> myFullDetail(@AuthenticationPrincipal ServiceAndUserDetails userDetails, WebRequest webRequest) throws ApplicationException {
 
         Optional<ProfessionalUserFullDetailDto> professionalUser = professionalUserService.retrieve(userDetails.getUsername());
 
@@ -45,7 +46,13 @@ public class RootController {
             return NOT_FOUND_RESPONSE;
         }
 
-        return ResponseEntity.ok(professionalUser.get());
+        // The body may come from the cache, the view or a replica, the ETag is made of the versions it was read at.
+        String eTag = professionalUser.get().getUserVersion() + "." + professionalUser.get().getOrganisationVersion();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(professionalUser.get());
     }
 
 }
@@ -18,6 +18,7 @@ public class AddressConverter implements Function<Address, AddressDto> {
 
         return AddressDto.builder()
                 .uuid(source.getUuid())
+                .type(source.getAddressType())
                 .addressLine1(source.getAddressLine1())
                 .addressLine2(source.getAddressLine2())
                 .addressLine3(source.getAddressLine3())
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.ref.pup.converter;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.dto.ChangeEventDto;
+
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+@Component
+public class ChangeEventConverter implements Function<ChangeEvent, ChangeEventDto> {
+
+    @Override
+    public ChangeEventDto apply(ChangeEvent source) {
+        if (source == null) {
+            return null;
+        }
+
+        return ChangeEventDto.builder()
+                .sequence(source.getSequence())
+                .entityType(source.getEntityType())
+                .entityId(source.getEntityId())
+                .changeType(source.getChangeType())
+                .organisationId(source.getOrganisationId())
+                .userId(source.getUserId())
+                .addressId(source.getAddressId())
+                .created(source.getCreated())
+                .build();
+    }
+
+}
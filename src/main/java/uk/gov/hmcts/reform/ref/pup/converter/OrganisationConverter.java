@@ -28,6 +28,7 @@ public class OrganisationConverter implements Function<Organisation, Organisatio
         return OrganisationDto.builder()
                 .uuid(source.getUuid())
                 .name(source.getName())
+                .parentOrganisationId(source.getOrganisation() == null ? null : source.getOrganisation().getUuid())
                 .addresses(source.getAddresses().stream().map(addressConverter).collect(Collectors.toList()))
                 .build();
     }
@@ -19,6 +19,7 @@ public class PaymentAccountConverter implements Function<PaymentAccount, Payment
         return PaymentAccountDto.builder()
                 .uuid(source.getUuid())
                 .pbaNumber(source.getPbaNumber())
+                .organisationId(source.getOrganisation() == null ? null : source.getOrganisation().getUuid())
                 .build();
     }
 
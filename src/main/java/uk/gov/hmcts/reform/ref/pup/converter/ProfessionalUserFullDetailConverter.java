@@ -38,6 +38,8 @@ public class ProfessionalUserFullDetailConverter implements Function<Professiona
                 .paymentAccounts(source.getOrganisation().getPaymentAccounts()
                             .stream().map(paymentAccountConverter).collect(Collectors.toList()))
                 .organisation(organisationConverter.apply(source.getOrganisation()))
+                .userVersion(source.getVersion())
+                .organisationVersion(source.getOrganisation().getVersion())
                 .build();
 
     }
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.ref.pup.datasource;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * A replica of the primary database and the outcome of its last lag check.
+ */
+@Getter
+public class ReadReplica {
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final String lagQuery;
+
+    private final long maxLagMs;
+
+    private volatile boolean available;
+
+    private volatile long lagMs = -1;
+
+    private volatile String error;
+
+    public ReadReplica(String name, DataSource dataSource, String lagQuery, long maxLagMs) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+    }
+
+    /**
+     * Measures the replication lag, in milliseconds, with the lag query.
+     */
+    public synchronized void check() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            resultSet.next();
+            lagMs = resultSet.getLong(1);
+            error = lagMs > maxLagMs ? "lag of " + lagMs + "ms over " + maxLagMs + "ms" : null;
+            available = error == null;
+        } catch (SQLException e) {
+            markUnavailable(e);
+        }
+    }
+
+    void markUnavailable(SQLException e) {
+        available = false;
+        error = e.getMessage();
+    }
+
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.ref.pup.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+
+/**
+ * Keeps the read-only transactions served by a replica from putting its rows, which may be older than the primary's,
+ * in the second-level and query caches. They still read from the caches.
+ */
+public class ReadReplicaJpaDialect extends HibernateJpaDialect {
+
+    private static final String CACHE_STORE_MODE = "javax.persistence.cache.storeMode";
+
+    private final ObjectProvider<DataSource> dataSource;
+
+    public ReadReplicaJpaDialect(ObjectProvider<DataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || dataSource.getObject().unwrap(ReadReplicaRoutingDataSource.class).isPinnedToPrimary()) {
+            return transactionData;
+        }
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReplicaTransactionData(entityManager, transactionData);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData) {
+            ReplicaTransactionData replicaTransactionData = (ReplicaTransactionData) transactionData;
+            // The entity manager outlives the transaction when it is opened in view.
+            replicaTransactionData.entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.USE);
+            super.cleanupTransaction(replicaTransactionData.transactionData);
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private static class ReplicaTransactionData {
+
+        private final EntityManager entityManager;
+
+        private final Object transactionData;
+
+        ReplicaTransactionData(EntityManager entityManager, Object transactionData) {
+            this.entityManager = entityManager;
+            this.transactionData = transactionData;
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package uk.gov.hmcts.reform.ref.pup.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out connections of the read replicas to read-only transactions and of the primary to everything else.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, the read-only flag
+ * is only set once the transaction has begun.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<ReadReplica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private static final ThreadLocal<Boolean> readingFromReplica = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final long primaryPinNanos;
+
+    private final ThreadLocal<Long> pinnedToPrimaryUntil = new ThreadLocal<>();
+
+    private final Map<String, Counter> connectionCounters = new HashMap<>();
+
+    private final Counter fallbackCounter;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<ReadReplica> replicas, long primaryPinMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.primaryPinNanos = TimeUnit.MILLISECONDS.toNanos(primaryPinMs);
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+
+        connectionCounters.put(PRIMARY, connectionCounter(meterRegistry, PRIMARY));
+        for (ReadReplica replica : replicas) {
+            connectionCounters.put(replica.getName(), connectionCounter(meterRegistry, replica.getName()));
+            Gauge.builder("pup.datasource.replica.lag", replica, ReadReplica::getLagMs)
+                .description("Replication lag measured by the last check, -1 until a check succeeds")
+                .baseUnit("milliseconds")
+                .tag("pool", replica.getName())
+                .register(meterRegistry);
+            Gauge.builder("pup.datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                .tag("pool", replica.getName())
+                .register(meterRegistry);
+        }
+        fallbackCounter = Counter.builder("pup.datasource.replica.fallbacks")
+            .description("Read-only connections served by the primary because no replica could serve them")
+            .register(meterRegistry);
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("pup.datasource.connections")
+            .description("Connections handed out, by pool")
+            .tag("pool", pool)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        readingFromReplica.set(Boolean.FALSE);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinnedToPrimaryUntil.set(System.nanoTime() + primaryPinNanos);
+            return primaryConnection();
+        }
+        if (!isPinnedToPrimary()) {
+            for (int i = 0; i < replicas.size(); i++) {
+                ReadReplica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.isAvailable()) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.getConnection();
+                    connectionCounters.get(replica.getName()).increment();
+                    readingFromReplica.set(Boolean.TRUE);
+                    return connection;
+                } catch (SQLException e) {
+                    log.warn("Read replica {} failed to connect, reads fall back to the other pools", replica.getName(), e);
+                    replica.markUnavailable(e);
+                }
+            }
+            fallbackCounter.increment();
+        }
+        return primaryConnection();
+    }
+
+    private Connection primaryConnection() throws SQLException {
+        connectionCounters.get(PRIMARY).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("The pools are configured with their credentials");
+    }
+
+    /**
+     * Runs the lag check of every replica.
+     */
+    public void checkReplicas() {
+        replicas.forEach(ReadReplica::check);
+    }
+
+    public List<ReadReplica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Whether the reads of the current thread go to the primary because it has just written.
+     */
+    public boolean isPinnedToPrimary() {
+        Long until = pinnedToPrimaryUntil.get();
+        if (until != null && until - System.nanoTime() <= 0) {
+            pinnedToPrimaryUntil.remove();
+            return false;
+        }
+        return until != null;
+    }
+
+    /**
+     * Lets the reads of the current thread go to the replicas again.
+     */
+    public void clearPrimaryPin() {
+        pinnedToPrimaryUntil.remove();
+    }
+
+    /**
+     * Whether the last connection handed out to the current thread is a replica's, whose rows may be older than the
+     * primary's and must not be cached.
+     */
+    public static boolean isReadingFromReplica() {
+        return readingFromReplica.get();
+    }
+
+}
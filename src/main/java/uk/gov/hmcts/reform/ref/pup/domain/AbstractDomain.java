@@ -12,6 +12,7 @@ import java.util.UUID;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 
 @MappedSuperclass
 @Getter
@@ -21,8 +22,15 @@ import javax.persistence.MappedSuperclass;
 public class AbstractDomain {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = TimeOrderedUuidGenerator.STRATEGY)
     private UUID uuid;
 
+    /**
+     * Bumped on every update of the row, and for an organisation on every change of its addresses and payment
+     * accounts, so it can serve as the ETag of the aggregate.
+     */
+    @Version
+    private Long version;
+
 }
@@ -1,8 +1,15 @@
 package uk.gov.hmcts.reform.ref.pup.domain;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
+
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
@@ -12,6 +19,9 @@ import javax.validation.constraints.NotNull;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "address")
+@Where(clause = "deleted is null")
 public class Address extends AbstractDomain {
 
     private String addressLine1;
@@ -34,4 +44,6 @@ public class Address extends AbstractDomain {
 
     @Enumerated(EnumType.STRING)
     protected AddressType addressType;
+
+    private Instant deleted;
 }
@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+public enum ChangeEntityType {
+
+    ORGANISATION, ADDRESS, PAYMENT_ACCOUNT, PROFESSIONAL_USER
+
+}
@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+/**
+ * A change of the reference data, recorded in the transaction of the change and read back in sequence order by the
+ * consumers of /pup/changes.
+ *
+ * <p>The entity is identified by its public key: the uuid of an organisation or an address, the PBA number of a
+ * payment account, the user id of a professional user. The assignments of a payment account also carry the user
+ * and the address they are about.</p>
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+public class ChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeEntityType entityType;
+
+    private String entityId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    private UUID organisationId;
+
+    private String userId;
+
+    private UUID addressId;
+
+    private Instant created;
+
+    public static ChangeEvent of(ChangeEntityType entityType, String entityId, ChangeType changeType, UUID organisationId) {
+        ChangeEvent changeEvent = new ChangeEvent();
+        changeEvent.setEntityType(entityType);
+        changeEvent.setEntityId(entityId);
+        changeEvent.setChangeType(changeType);
+        changeEvent.setOrganisationId(organisationId);
+        return changeEvent;
+    }
+
+    public static ChangeEvent of(ChangeEntityType entityType, UUID entityId, ChangeType changeType, UUID organisationId) {
+        return of(entityType, Objects.toString(entityId, null), changeType, organisationId);
+    }
+
+}
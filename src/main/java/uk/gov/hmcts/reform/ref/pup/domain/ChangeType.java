@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+public enum ChangeType {
+
+    CREATED, UPDATED, DELETED, ASSIGNED, UNASSIGNED
+
+}
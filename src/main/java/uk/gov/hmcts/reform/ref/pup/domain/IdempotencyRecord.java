@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Data;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+
+/**
+ * The response of a POST request sent with an {@code Idempotency-Key} header, replayed to the retries of the same
+ * caller with the same key.
+ *
+ * <p>A record without status is a request still being processed. The rows are written with SQL by
+ * {@link uk.gov.hmcts.reform.ref.pup.repository.IdempotencyRecordRepositoryCustom}.</p>
+ */
+@Getter
+@Entity
+@Immutable
+@IdClass(IdempotencyRecord.Key.class)
+public class IdempotencyRecord {
+
+    @Id
+    private String principal;
+
+    @Id
+    private String idempotencyKey;
+
+    private String requestHash;
+
+    private Integer status;
+
+    private String contentType;
+
+    private byte[] body;
+
+    private Instant created;
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    @Data
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String principal;
+
+        private String idempotencyKey;
+
+    }
+
+}
@@ -1,23 +1,31 @@
 package uk.gov.hmcts.reform.ref.pup.domain;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
+
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
-import javax.persistence.OneToOne;
-import javax.persistence.Table;
-import javax.persistence.UniqueConstraint;
 
 @Getter
 @Setter
 @Entity
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organisation")
+@Where(clause = "deleted is null")
 public class Organisation extends AbstractDomain {
 
     private String name;
@@ -25,16 +33,28 @@ public class Organisation extends AbstractDomain {
     @Enumerated(EnumType.STRING)
     private OrganisationType organisationType;
 
-    @OneToOne
+    /**
+     * The parent organisation, for the branch offices of a firm. The hierarchy it forms is queried through
+     * {@link OrganisationClosure}. Lazy, loading a branch does not load each of its ancestors.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     private Organisation organisation;
 
     @OneToMany(mappedBy = "organisation")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organisation-payment-accounts")
     private Set<PaymentAccount> paymentAccounts = new HashSet<>();
 
     @OneToMany(mappedBy = "organisation")
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organisation-addresses")
     private Set<Address> addresses = new HashSet<>();
 
     @OneToMany(mappedBy = "organisation")
     private Set<ProfessionalUser> professionalUsers = new HashSet<>();
 
+    /**
+     * Set when the organisation is soft deleted, the {@link Where} clause hides it until it is purged.
+     */
+    private Instant deleted;
+
 }
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Data;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+
+/**
+ * One row per organisation and each of its ancestors, itself included at depth 0, so a whole branch of the
+ * hierarchy is read with a single indexed join whatever its depth.
+ *
+ * <p>The rows are maintained with SQL by {@link uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepositoryCustom},
+ * the entity only serves the hierarchy queries.</p>
+ */
+@Getter
+@Entity
+@Immutable
+@IdClass(OrganisationClosure.Key.class)
+public class OrganisationClosure {
+
+    @Id
+    private UUID ancestorUuid;
+
+    @Id
+    private UUID descendantUuid;
+
+    private int depth;
+
+    @Data
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private UUID ancestorUuid;
+
+        private UUID descendantUuid;
+
+    }
+
+}
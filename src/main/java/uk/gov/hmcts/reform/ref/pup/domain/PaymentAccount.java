@@ -1,21 +1,28 @@
 package uk.gov.hmcts.reform.ref.pup.domain;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
+
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.ManyToOne;
-import javax.persistence.Table;
-import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
 @Getter
 @Setter
 @Entity
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = "pbanumber"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "payment-account")
+@Where(clause = "deleted is null")
 public class PaymentAccount extends AbstractDomain {
 
 
@@ -29,4 +36,6 @@ public class PaymentAccount extends AbstractDomain {
     @ManyToOne
     private Organisation organisation;
 
+    private Instant deleted;
+
 }
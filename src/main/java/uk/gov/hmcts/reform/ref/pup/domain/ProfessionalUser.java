@@ -1,12 +1,16 @@
 package uk.gov.hmcts.reform.ref.pup.domain;
 
+import org.hibernate.annotations.Where;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+import java.util.Locale;
+
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
-import javax.persistence.Table;
-import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
@@ -14,7 +18,7 @@ import javax.validation.constraints.NotNull;
 @Getter
 @Setter
 @Entity
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "userId" }))
+@Where(clause = "deleted is null")
 public class ProfessionalUser extends AbstractDomain {
 
     @NotEmpty
@@ -28,10 +32,30 @@ public class ProfessionalUser extends AbstractDomain {
 
     private String email;
 
+    /**
+     * Lower-cased part of the email after the '@', kept in its own column so listings can filter on it with an index.
+     */
+    @Setter(AccessLevel.NONE)
+    private String emailDomain;
+
     private String phoneNumber;
 
     @NotNull
     @ManyToOne
     private Organisation organisation;
 
+    private Instant deleted;
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailDomain = emailDomainOf(email);
+    }
+
+    public static String emailDomainOf(String email) {
+        if (email == null || email.indexOf('@') < 0) {
+            return null;
+        }
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ENGLISH);
+    }
+
 }
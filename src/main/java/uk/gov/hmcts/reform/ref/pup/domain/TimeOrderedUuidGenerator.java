@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates version 7 UUIDs: a 48 bit Unix millisecond timestamp, a 12 bit sequence and 62 random bits.
+ *
+ * <p>Identifiers generated one after the other sort one after the other, so inserts append to the right hand side of
+ * the primary key index instead of landing on a random page. The timestamp and sequence are taken from a single
+ * counter, which keeps them strictly increasing within the JVM even when the clock goes backwards or more than 4096
+ * identifiers are generated in the same millisecond.</p>
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    public static final String STRATEGY = "uk.gov.hmcts.reform.ref.pup.domain.TimeOrderedUuidGenerator";
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    private static final Random RANDOM = new SecureRandom();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return nextUuid();
+    }
+
+    public static UUID nextUuid() {
+        long timestampAndSequence = nextTimestampAndSequence(System.currentTimeMillis());
+
+        long mostSigBits = ((timestampAndSequence >>> SEQUENCE_BITS) << 16) | VERSION | (timestampAndSequence & SEQUENCE_MASK);
+        long leastSigBits = (RANDOM.nextLong() & RANDOM_MASK) | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static long nextTimestampAndSequence(long currentTimeMillis) {
+        long candidate = currentTimeMillis << SEQUENCE_BITS;
+        return LAST_TIMESTAMP_AND_SEQUENCE.updateAndGet(last -> Math.max(candidate, last + 1));
+    }
+}
@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * The full detail of a user, as returned by /pup/mine, stored as a JSON document with the versions it was built from.
+ */
+@Getter
+@Setter
+@Entity
+public class UserProfileView {
+
+    @Id
+    private String userId;
+
+    private long userVersion;
+
+    private long organisationVersion;
+
+    private String document;
+
+}
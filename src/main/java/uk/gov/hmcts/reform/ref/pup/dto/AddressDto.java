@@ -2,6 +2,9 @@ package uk.gov.hmcts.reform.ref.pup.dto;
 
 import uk.gov.hmcts.reform.ref.pup.domain.AddressType;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -9,6 +12,8 @@ import java.util.UUID;
 
 @Builder
 @Getter
+@AllArgsConstructor
+@JsonDeserialize(builder = AddressDto.AddressDtoBuilder.class)
 public class AddressDto {
 
     private UUID uuid;
@@ -28,4 +33,9 @@ public class AddressDto {
     private String country;
 
     private String postcode;
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class AddressDtoBuilder {
+    }
+
 }
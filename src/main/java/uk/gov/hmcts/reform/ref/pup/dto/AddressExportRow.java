@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.domain.AddressType;
+
+import java.util.UUID;
+
+public interface AddressExportRow {
+
+    UUID getUuid();
+
+    UUID getOrganisationId();
+
+    AddressType getType();
+
+    String getAddressLine1();
+
+    String getAddressLine2();
+
+    String getAddressLine3();
+
+    String getCity();
+
+    String getCounty();
+
+    String getCountry();
+
+    String getPostcode();
+
+}
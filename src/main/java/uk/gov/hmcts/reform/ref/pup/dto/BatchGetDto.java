@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The result of a multi-get: the items found keyed by the requested key, in request order, and the keys that matched
+ * nothing.
+ */
+@Builder
+@Getter
+public class BatchGetDto<T> {
+
+    public static final int MAX_KEYS = 100;
+
+    private Map<String, T> found;
+
+    private List<String> notFound;
+
+    public static <S, T> BatchGetDto<T> of(Collection<String> keys, Collection<S> items, Function<S, String> key, Function<S, T> converter) {
+        Map<String, S> itemsByKey = new LinkedHashMap<>();
+        items.forEach(item -> itemsByKey.put(key.apply(item), item));
+
+        Map<String, T> found = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (String requestedKey : keys) {
+            S item = itemsByKey.get(requestedKey);
+            if (item == null) {
+                notFound.add(requestedKey);
+            } else {
+                found.put(requestedKey, converter.apply(item));
+            }
+        }
+
+        return BatchGetDto.<T>builder()
+                .found(found)
+                .notFound(notFound)
+                .build();
+    }
+
+    /**
+     * Returns the distinct keys, in request order, once checked against {@link #MAX_KEYS}.
+     */
+    public static Set<String> distinctKeys(Collection<String> keys) throws ApplicationException {
+        Set<String> distinctKeys = new LinkedHashSet<>(keys);
+        if (distinctKeys.size() > MAX_KEYS) {
+            throw new ApplicationException(ApplicationErrorCode.TOO_MANY_KEYS);
+        }
+        return distinctKeys;
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Builder
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDto {
+
+    private long sequence;
+
+    private ChangeEntityType entityType;
+
+    private String entityId;
+
+    private ChangeType changeType;
+
+    private UUID organisationId;
+
+    private String userId;
+
+    private UUID addressId;
+
+    private Instant created;
+
+}
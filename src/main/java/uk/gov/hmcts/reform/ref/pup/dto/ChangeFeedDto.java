@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A batch of the change feed. {@code next} is the sequence to ask the following batch from, the one the request was
+ * made with when there is no new change yet.
+ */
+@Builder
+@Getter
+public class ChangeFeedDto {
+
+    public static final int DEFAULT_SIZE = 500;
+
+    public static final int MAX_SIZE = 1000;
+
+    private List<ChangeEventDto> changes;
+
+    private long next;
+
+    public static int batchSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+}
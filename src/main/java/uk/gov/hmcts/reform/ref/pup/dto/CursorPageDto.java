@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+
+import org.springframework.data.domain.Slice;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A page of a keyset listing. {@code nextCursor} is the opaque key of the last item, absent on the last page.
+ */
+@Builder
+@Getter
+public class CursorPageDto<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+
+    private String nextCursor;
+
+    public static <S, T> CursorPageDto<T> of(Slice<S> slice, Function<S, T> converter, Function<S, String> key) {
+        List<S> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            nextCursor = encodeCursor(key.apply(content.get(content.size() - 1)));
+        }
+
+        return CursorPageDto.<T>builder()
+                .content(content.stream().map(converter).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the key a cursor was built from, or the empty string, which sorts before every key, when there is no cursor.
+     */
+    public static String decodeCursor(String cursor) throws ApplicationException {
+        if (cursor == null || cursor.isEmpty()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException(ApplicationErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One line of the reference data export, {@code type} tells which of the row types {@code data} holds.
+ */
+@Builder
+@Getter
+public class ExportRecord {
+
+    private String type;
+
+    private Object data;
+}
@@ -4,6 +4,8 @@ import uk.gov.hmcts.reform.ref.pup.domain.OrganisationType;
 
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 public class OrganisationCreation {
 
@@ -11,4 +13,6 @@ public class OrganisationCreation {
 
     private String name;
 
+    private UUID parentOrganisationId;
+
 }
@@ -1,19 +1,45 @@
 package uk.gov.hmcts.reform.ref.pup.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 @Builder
 @Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonDeserialize(builder = OrganisationDto.OrganisationDtoBuilder.class)
 public class OrganisationDto {
 
     private UUID uuid;
 
     private String name;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UUID parentOrganisationId;
+
     private List<AddressDto> addresses;
 
+    /**
+     * The constructor of the JPQL projections, which can not select the addresses, see {@link #withAddresses(List)}.
+     */
+    public OrganisationDto(UUID uuid, String name, UUID parentOrganisationId) {
+        this(uuid, name, parentOrganisationId, Collections.emptyList());
+    }
+
+    public OrganisationDto withAddresses(List<AddressDto> addresses) {
+        return new OrganisationDto(uuid, name, parentOrganisationId, addresses);
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class OrganisationDtoBuilder {
+    }
+
 }
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.domain.OrganisationType;
+
+import java.util.UUID;
+
+public interface OrganisationExportRow {
+
+    UUID getUuid();
+
+    String getName();
+
+    OrganisationType getOrganisationType();
+
+    UUID getParentOrganisationId();
+
+}
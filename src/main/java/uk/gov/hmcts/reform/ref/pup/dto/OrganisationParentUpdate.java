@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class OrganisationParentUpdate {
+
+    /**
+     * The new parent, null to make the organisation a root.
+     */
+    private UUID parentOrganisationId;
+
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class PaymentAccountAssignmentResult {
+
+    private String userId;
+
+    private String addressId;
+
+    private boolean assigned;
+
+    private ApplicationErrorCode errorCode;
+}
@@ -1,5 +1,8 @@
 package uk.gov.hmcts.reform.ref.pup.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -7,6 +10,8 @@ import java.util.UUID;
 
 @Builder
 @Getter
+@AllArgsConstructor
+@JsonDeserialize(builder = PaymentAccountDto.PaymentAccountDtoBuilder.class)
 public class PaymentAccountDto {
 
     private UUID uuid;
@@ -14,4 +19,9 @@ public class PaymentAccountDto {
     private String pbaNumber;
 
     private UUID organisationId;
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class PaymentAccountDtoBuilder {
+    }
+
 }
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccountType;
+
+import java.util.UUID;
+
+public interface PaymentAccountExportRow {
+
+    UUID getUuid();
+
+    UUID getOrganisationId();
+
+    String getPbaNumber();
+
+    PaymentAccountType getType();
+
+}
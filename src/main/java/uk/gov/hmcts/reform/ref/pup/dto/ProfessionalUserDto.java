@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.ref.pup.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -8,6 +9,7 @@ import java.util.UUID;
 
 @Builder
 @Getter
+@AllArgsConstructor
 public class ProfessionalUserDto {
 
     private UUID uuid;
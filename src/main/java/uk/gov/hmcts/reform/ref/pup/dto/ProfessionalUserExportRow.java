@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import java.util.UUID;
+
+public interface ProfessionalUserExportRow {
+
+    UUID getUuid();
+
+    UUID getOrganisationId();
+
+    String getUserId();
+
+    String getFirstName();
+
+    String getSurname();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+}
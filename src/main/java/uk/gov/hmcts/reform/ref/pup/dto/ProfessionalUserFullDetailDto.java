@@ -1,13 +1,17 @@
 package uk.gov.hmcts.reform.ref.pup.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.util.List;
 
 
-@Builder
+@Builder(toBuilder = true)
 @Getter
+@JsonDeserialize(builder = ProfessionalUserFullDetailDto.ProfessionalUserFullDetailDtoBuilder.class)
 public class ProfessionalUserFullDetailDto {
 
     private String userId;
@@ -26,4 +30,17 @@ public class ProfessionalUserFullDetailDto {
 
     private List<PaymentAccountDto> paymentAccounts;
 
+    /**
+     * The versions the detail was read at, which make its ETag. They are not part of the body.
+     */
+    @JsonIgnore
+    private Long userVersion;
+
+    @JsonIgnore
+    private Long organisationVersion;
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class ProfessionalUserFullDetailDtoBuilder {
+    }
+
 }
@@ -7,12 +7,13 @@ public class ApplicationException extends Exception {
     private static final long serialVersionUID = 1L;
 
     public enum ApplicationErrorCode {
-        ORGANISATION_ID_IN_USE, ORGANISATION_ID_DOES_NOT_EXIST,
+        ORGANISATION_ID_IN_USE, ORGANISATION_ID_DOES_NOT_EXIST, INVALID_PARENT_ORGANISATION,
         PAYMENT_ACCOUNT_ID_IN_USE, PAYMENT_ACCOUNT_ID_DOES_NOT_EXIST,
         PROFESSIONAL_USER_ID_IN_USE, PROFESSIONAL_USER_ID_DOES_NOT_EXIST,
         PAYMENT_ACCOUNT_ALREADY_ASSIGNED, PAYMENT_ACCOUNT_IS_NOT_ASSIGNED,
         ADDRESS_ID_DOES_NOT_EXIST,
-        PAYMENT_ACCOUNT_CAN_NOT_BE_UNASSIGNED, PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED
+        PAYMENT_ACCOUNT_CAN_NOT_BE_UNASSIGNED, PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED,
+        INVALID_CURSOR, TOO_MANY_KEYS
     }
 
     private final ApplicationErrorCode applicationErrorCode;
@@ -0,0 +1,217 @@
+package uk.gov.hmcts.reform.ref.pup.idempotency;
+
+import uk.gov.hmcts.reform.ref.pup.domain.IdempotencyRecord;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Replays the stored response of a POST request retried with the same {@code Idempotency-Key} header, without
+ * running it again.
+ *
+ * <p>Keys are scoped to the authenticated caller, the filter runs after the security filter chain. The first request
+ * with a key reserves it and stores its response when it succeeded or was rejected for good (400, 404 or 422). Other
+ * failures, such as a conflict or a server error, release the key so that a retry runs the request again. A retry
+ * arriving while the first request is still processed is rejected with 409, and a key reused for a different request
+ * with 422.</p>
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<Integer> STORED_CLIENT_ERRORS = new HashSet<>(Arrays.asList(
+        HttpStatus.BAD_REQUEST.value(), HttpStatus.NOT_FOUND.value(), HttpStatus.UNPROCESSABLE_ENTITY.value()));
+
+    private final IdempotencyRecordStore idempotencyRecordStore;
+
+    private final int maxResponseBytes;
+
+    private final Counter replayCounter;
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyRecordStore idempotencyRecordStore,
+                             @Value("${idempotency.max-response-bytes}") int maxResponseBytes,
+                             MeterRegistry meterRegistry) {
+        this.idempotencyRecordStore = idempotencyRecordStore;
+        this.maxResponseBytes = maxResponseBytes;
+        this.replayCounter = Counter.builder("pup.idempotency.replays")
+            .description("Responses replayed to requests retried with the same idempotency key")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "The Idempotency-Key header must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication == null ? "" : authentication.getName();
+        CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request);
+        String requestHash = cachedBodyRequest.hash();
+
+        Optional<IdempotencyRecord> existing = idempotencyRecordStore.find(principal, idempotencyKey);
+        if (existing.isPresent() && !existing.get().getRequestHash().equals(requestHash)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), "The Idempotency-Key has been used for a different request");
+            return;
+        }
+        if (existing.isPresent() && existing.get().isCompleted()) {
+            replay(existing.get(), response);
+            return;
+        }
+        if (!idempotencyRecordStore.reserve(principal, idempotencyKey, requestHash, existing)) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with the same Idempotency-Key is being processed");
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedBodyRequest, cachingResponse);
+
+            if (isStored(cachingResponse.getStatus()) && cachingResponse.getContentSize() <= maxResponseBytes) {
+                idempotencyRecordStore.complete(principal, idempotencyKey, cachingResponse.getStatus(), cachingResponse.getContentType(),
+                    cachingResponse.getContentAsByteArray());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyRecordStore.release(principal, idempotencyKey);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isStored(int status) {
+        return (status >= HttpStatus.OK.value() && status < HttpStatus.MULTIPLE_CHOICES.value()) || STORED_CLIENT_ERRORS.contains(status);
+    }
+
+    private void replay(IdempotencyRecord idempotencyRecord, HttpServletResponse response) throws IOException {
+        replayCounter.increment();
+        response.setStatus(idempotencyRecord.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (idempotencyRecord.getContentType() != null) {
+            response.setContentType(idempotencyRecord.getContentType());
+        }
+        if (idempotencyRecord.getBody() != null) {
+            response.setContentLength(idempotencyRecord.getBody().length);
+            response.getOutputStream().write(idempotencyRecord.getBody());
+        }
+    }
+
+    /**
+     * Reads the body upfront so it can be hashed before the request is processed, and read again by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        String hash() {
+            String target = getMethod() + " " + getRequestURI() + (getQueryString() == null ? "" : "?" + getQueryString()) + "\n";
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            digest.update(target.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest(body)) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is in memory, so all of it is available as soon as the listener is set.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.ref.pup.idempotency;
+
+import uk.gov.hmcts.reform.ref.pup.domain.IdempotencyRecord;
+import uk.gov.hmcts.reform.ref.pup.repository.IdempotencyRecordRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps the responses of the requests sent with an idempotency key for {@code idempotency.time-to-live-hours}.
+ *
+ * <p>The filter calls the store around the request, outside of its transaction. Each write commits on its own so a
+ * concurrent retry sees a reservation as soon as it is made, and a duplicate reservation fails alone.</p>
+ */
+@Component
+public class IdempotencyRecordStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyRecordStore.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Duration timeToLive;
+
+    private final Duration lease;
+
+    @Autowired
+    public IdempotencyRecordStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  @Value("${idempotency.time-to-live-hours}") long timeToLiveHours,
+                                  @Value("${idempotency.lease-ms}") long leaseMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.timeToLive = Duration.ofHours(timeToLiveHours);
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    /**
+     * Returns the record of the key. Not read-only on purpose, a read replica could miss a reservation just made.
+     */
+    @Transactional
+    public Optional<IdempotencyRecord> find(String principal, String idempotencyKey) {
+        return idempotencyRecordRepository.findOneByPrincipalAndIdempotencyKey(principal, idempotencyKey);
+    }
+
+    /**
+     * Reserves the key for a request about to be processed, taking over a reservation left uncompleted for longer than
+     * the lease.
+     */
+    public boolean reserve(String principal, String idempotencyKey, String requestHash, Optional<IdempotencyRecord> existing) {
+        if (existing.isPresent()) {
+            if (existing.get().isCompleted() || existing.get().getCreated().isAfter(Instant.now().minus(lease))) {
+                return false;
+            }
+            return idempotencyRecordRepository.takeOver(principal, idempotencyKey, requestHash, existing.get().getCreated());
+        }
+        return idempotencyRecordRepository.reserve(principal, idempotencyKey, requestHash);
+    }
+
+    public void complete(String principal, String idempotencyKey, int status, String contentType, byte[] body) {
+        idempotencyRecordRepository.complete(principal, idempotencyKey, status, contentType, body);
+    }
+
+    public void release(String principal, String idempotencyKey) {
+        idempotencyRecordRepository.release(principal, idempotencyKey);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms}")
+    public int purge() {
+        int purged = idempotencyRecordRepository.deleteByCreatedBefore(Instant.now().minus(timeToLive));
+        if (purged > 0) {
+            log.info("Purged {} idempotency records older than {}", purged, timeToLive);
+        }
+        return purged;
+    }
+
+}
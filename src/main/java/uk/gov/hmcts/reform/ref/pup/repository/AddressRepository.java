@@ -1,11 +1,40 @@
 package uk.gov.hmcts.reform.ref.pup.repository;
 
 import uk.gov.hmcts.reform.ref.pup.domain.Address;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressDto;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressExportRow;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 public interface AddressRepository extends CrudRepository<Address, UUID> {
 
+    @Query("select new uk.gov.hmcts.reform.ref.pup.dto.AddressDto(a.uuid, a.addressType, a.addressLine1, a.addressLine2, a.addressLine3, "
+        + "a.city, a.county, a.country, a.postcode) from Address a where a.organisation.uuid = :uuid")
+    List<AddressDto> findAllDtosByOrganisationUuid(@Param("uuid") UUID organisationUuid);
+
+    @Modifying
+    @Query("update Address a set a.deleted = :deleted where a.deleted is null "
+        + "and a.organisation.uuid in (select c.descendantUuid from OrganisationClosure c where c.ancestorUuid = :uuid)")
+    int softDeleteAllInHierarchyOf(@Param("uuid") UUID organisationUuid, @Param("deleted") Instant deleted);
+
+    @Query("select a.uuid as uuid, a.organisation.uuid as organisationId, a.addressType as type, a.addressLine1 as addressLine1, "
+        + "a.addressLine2 as addressLine2, a.addressLine3 as addressLine3, a.city as city, a.county as county, "
+        + "a.country as country, a.postcode as postcode from Address a")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<AddressExportRow> streamAllForExport();
+
 }
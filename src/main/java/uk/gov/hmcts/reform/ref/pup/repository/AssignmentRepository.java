@@ -1,20 +1,23 @@
 package uk.gov.hmcts.reform.ref.pup.repository;
 
-import uk.gov.hmcts.reform.ref.pup.domain.Address;
 import uk.gov.hmcts.reform.ref.pup.domain.Assignment;
 import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
-public interface AssignmentRepository extends CrudRepository<Assignment, UUID> {
+public interface AssignmentRepository extends CrudRepository<Assignment, UUID>, AssignmentRepositoryCustom {
 
-    List<Assignment> findAllByProfessionalUser(ProfessionalUser professionalUser);
+    @Query("select a from Assignment a join fetch a.paymentAccount pa join a.address ad "
+        + "where a.professionalUser = :professionalUser and pa.deleted is null and ad.deleted is null")
+    List<Assignment> findAllByProfessionalUser(@Param("professionalUser") ProfessionalUser professionalUser);
 
-    Optional<Assignment> findOneByPaymentAccountAndAddressAndProfessionalUser(PaymentAccount paymentAccount, Address address, ProfessionalUser professionalUser);
+    List<Assignment> findAllByPaymentAccountAndProfessionalUserIn(PaymentAccount paymentAccount, Collection<ProfessionalUser> professionalUsers);
 
 }
\ No newline at end of file
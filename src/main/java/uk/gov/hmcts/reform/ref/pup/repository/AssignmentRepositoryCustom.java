@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.Assignment;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AssignmentRepositoryCustom {
+
+    void insertAll(List<Assignment> assignments);
+
+    /**
+     * Assigns the payment account to the user and address unless they are already, returns the number of assignments
+     * inserted: 0 when the user or the address does not exist or the assignment already does.
+     */
+    int assign(UUID paymentAccountUuid, String userId, UUID addressUuid);
+
+    /**
+     * Returns the number of assignments deleted: 0 when the user or the address does not exist or the assignment
+     * does not.
+     */
+    int unassign(UUID paymentAccountUuid, String userId, UUID addressUuid);
+
+    int unassignAll(UUID paymentAccountUuid);
+
+}
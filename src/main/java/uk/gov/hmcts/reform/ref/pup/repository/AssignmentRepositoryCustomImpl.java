@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.Assignment;
+import uk.gov.hmcts.reform.ref.pup.domain.TimeOrderedUuidGenerator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts and deletes assignments with plain SQL statements instead of loading and persisting entities.
+ *
+ * <p>The rows bypass the persistence context. The batch insert expects the references and duplicates to be checked
+ * beforehand, the single assignment statements resolve the user and the address themselves and only touch the rows
+ * they match.</p>
+ */
+public class AssignmentRepositoryCustomImpl implements AssignmentRepositoryCustom {
+
+    static final String INSERT_ASSIGNMENT =
+        "INSERT INTO assignment (uuid, payment_account_uuid, address_uuid, professional_user_uuid) VALUES (?, ?, ?, ?)";
+
+    // NOT EXISTS rather than ON CONFLICT DO NOTHING, which H2 does not support. Of two concurrent inserts of the same
+    // assignment one fails on the unique index on the triple.
+    static final String ASSIGN =
+        "INSERT INTO assignment (uuid, payment_account_uuid, address_uuid, professional_user_uuid) "
+            + "SELECT ?, ?, a.uuid, u.uuid FROM professional_user u, address a "
+            + "WHERE u.user_id = ? AND a.uuid = ? AND u.deleted IS NULL AND a.deleted IS NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM assignment s "
+            + "WHERE s.professional_user_uuid = u.uuid AND s.payment_account_uuid = ? AND s.address_uuid = a.uuid)";
+
+    static final String UNASSIGN =
+        "DELETE FROM assignment WHERE payment_account_uuid = ? AND address_uuid = ? "
+            + "AND professional_user_uuid = (SELECT u.uuid FROM professional_user u WHERE u.user_id = ?)";
+
+    static final String UNASSIGN_ALL = "DELETE FROM assignment WHERE payment_account_uuid = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AssignmentRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Assignment> assignments) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT, assignments.stream()
+            .map(assignment -> new Object[] {
+                TimeOrderedUuidGenerator.nextUuid(),
+                assignment.getPaymentAccount().getUuid(),
+                assignment.getAddress().getUuid(),
+                assignment.getProfessionalUser().getUuid()
+            })
+            .collect(Collectors.toList()));
+    }
+
+    @Override
+    public int assign(UUID paymentAccountUuid, String userId, UUID addressUuid) {
+        return jdbcTemplate.update(ASSIGN, TimeOrderedUuidGenerator.nextUuid(), paymentAccountUuid, userId, addressUuid, paymentAccountUuid);
+    }
+
+    @Override
+    public int unassign(UUID paymentAccountUuid, String userId, UUID addressUuid) {
+        return jdbcTemplate.update(UNASSIGN, paymentAccountUuid, addressUuid, userId);
+    }
+
+    @Override
+    public int unassignAll(UUID paymentAccountUuid) {
+        return jdbcTemplate.update(UNASSIGN_ALL, paymentAccountUuid);
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ChangeEventRepository extends CrudRepository<ChangeEvent, Long>, ChangeEventRepositoryCustom {
+
+    List<ChangeEvent> findBySequenceGreaterThan(long sequence, Pageable pageable);
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.created < :before")
+    int deleteByCreatedBefore(@Param("before") Instant before);
+
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+
+import java.util.List;
+
+public interface ChangeEventRepositoryCustom {
+
+    void appendAll(List<ChangeEvent> changeEvents);
+
+}
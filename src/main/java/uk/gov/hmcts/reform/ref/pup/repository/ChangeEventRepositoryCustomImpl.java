@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Appends change events with a single JDBC batch, numbered from the row of {@code change_event_sequence}.
+ *
+ * <p>The row stays locked until the transaction ends, so sequences are assigned in commit order when the events are
+ * appended just before the commit.</p>
+ */
+public class ChangeEventRepositoryCustomImpl implements ChangeEventRepositoryCustom {
+
+    static final String LOCK_SEQUENCE = "SELECT last_sequence FROM change_event_sequence FOR UPDATE";
+
+    static final String ADVANCE_SEQUENCE = "UPDATE change_event_sequence SET last_sequence = ?";
+
+    static final String INSERT_CHANGE_EVENT =
+        "INSERT INTO change_event (sequence, entity_type, entity_id, change_type, organisation_id, user_id, address_id, created) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ChangeEventRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<ChangeEvent> changeEvents) {
+        if (changeEvents.isEmpty()) {
+            return;
+        }
+
+        long lastSequence = jdbcTemplate.queryForObject(LOCK_SEQUENCE, Long.class);
+        jdbcTemplate.update(ADVANCE_SEQUENCE, lastSequence + changeEvents.size());
+
+        Timestamp created = Timestamp.from(Instant.now());
+        AtomicLong sequence = new AtomicLong(lastSequence);
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_EVENT, changeEvents.stream()
+            .map(changeEvent -> new Object[] {
+                sequence.incrementAndGet(),
+                changeEvent.getEntityType().name(),
+                changeEvent.getEntityId(),
+                changeEvent.getChangeType().name(),
+                changeEvent.getOrganisationId(),
+                changeEvent.getUserId(),
+                changeEvent.getAddressId(),
+                created
+            })
+            .collect(Collectors.toList()));
+    }
+}
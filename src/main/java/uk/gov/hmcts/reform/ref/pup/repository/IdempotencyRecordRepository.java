@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.IdempotencyRecord;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends CrudRepository<IdempotencyRecord, IdempotencyRecord.Key>, IdempotencyRecordRepositoryCustom {
+
+    Optional<IdempotencyRecord> findOneByPrincipalAndIdempotencyKey(String principal, String idempotencyKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.created < :before")
+    int deleteByCreatedBefore(@Param("before") Instant before);
+
+}
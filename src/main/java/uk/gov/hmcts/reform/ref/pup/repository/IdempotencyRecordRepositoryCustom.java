@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepositoryCustom {
+
+    /**
+     * Inserts a record without response for the key, returns false when the key already has one.
+     */
+    boolean reserve(String principal, String idempotencyKey, String requestHash);
+
+    /**
+     * Reserves the key again for a new request if its reservation is still the uncompleted one made at {@code created},
+     * returns false when another request took it over or completed it first.
+     */
+    boolean takeOver(String principal, String idempotencyKey, String requestHash, Instant created);
+
+    void complete(String principal, String idempotencyKey, int status, String contentType, byte[] body);
+
+    void release(String principal, String idempotencyKey);
+
+}
@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Writes the idempotency records with plain statements, each committed on its own so a concurrent retry sees the
+ * reservation as soon as it is made.
+ */
+public class IdempotencyRecordRepositoryCustomImpl implements IdempotencyRecordRepositoryCustom {
+
+    static final String RESERVE =
+        "INSERT INTO idempotency_record (principal, idempotency_key, request_hash, created) VALUES (?, ?, ?, ?)";
+
+    static final String TAKE_OVER =
+        "UPDATE idempotency_record SET request_hash = ?, created = ? "
+            + "WHERE principal = ? AND idempotency_key = ? AND status IS NULL AND created = ?";
+
+    static final String COMPLETE =
+        "UPDATE idempotency_record SET status = ?, content_type = ?, body = ? WHERE principal = ? AND idempotency_key = ?";
+
+    static final String RELEASE =
+        "DELETE FROM idempotency_record WHERE principal = ? AND idempotency_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdempotencyRecordRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean reserve(String principal, String idempotencyKey, String requestHash) {
+        try {
+            jdbcTemplate.update(RESERVE, principal, idempotencyKey, requestHash, Timestamp.from(Instant.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean takeOver(String principal, String idempotencyKey, String requestHash, Instant created) {
+        return jdbcTemplate.update(TAKE_OVER, requestHash, Timestamp.from(Instant.now()), principal, idempotencyKey, Timestamp.from(created)) == 1;
+    }
+
+    @Override
+    public void complete(String principal, String idempotencyKey, int status, String contentType, byte[] body) {
+        jdbcTemplate.update(COMPLETE, status, contentType, body, principal, idempotencyKey);
+    }
+
+    @Override
+    public void release(String principal, String idempotencyKey) {
+        jdbcTemplate.update(RELEASE, principal, idempotencyKey);
+    }
+}
@@ -1,14 +1,78 @@
 package uk.gov.hmcts.reform.ref.pup.repository;
 
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationExportRow;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface OrganisationRepository extends CrudRepository<Organisation, UUID> {
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+public interface OrganisationRepository extends JpaRepository<Organisation, UUID>, OrganisationRepositoryCustom {
 
     Optional<Organisation> findOneByName(String names);
 
+    @Query("select distinct o from Organisation o left join fetch o.addresses where o.uuid = :uuid")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    Optional<Organisation> findWithAddressesByUuid(@Param("uuid") UUID uuid);
+
+    @Query("select new uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto(o.uuid, o.name, p.uuid) "
+        + "from Organisation o left join o.organisation p where o.uuid = :uuid")
+    Optional<OrganisationDto> findDtoByUuid(@Param("uuid") UUID uuid);
+
+    @Query("select o.version from Organisation o where o.uuid = :uuid")
+    Optional<Long> findVersionByUuid(@Param("uuid") UUID uuid);
+
+    /**
+     * Locks the organisation and bumps its version, for changes of its addresses and payment accounts which do not
+     * update the organisation row itself. Concurrent changes of the children wait for each other instead of failing.
+     */
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("select o from Organisation o where o.uuid = :uuid")
+    Optional<Organisation> findForChildChangeByUuid(@Param("uuid") UUID uuid);
+
+    @Query("select o from OrganisationClosure c, Organisation o "
+        + "where c.ancestorUuid = :uuid and c.depth > 0 and o.uuid = c.descendantUuid order by c.depth, o.name")
+    List<Organisation> findDescendantsByUuid(@Param("uuid") UUID uuid);
+
+    @Query("select case when count(c) > 0 then true else false end from OrganisationClosure c "
+        + "where c.ancestorUuid = :ancestorUuid and c.descendantUuid = :descendantUuid")
+    boolean isAncestorOf(@Param("ancestorUuid") UUID ancestorUuid, @Param("descendantUuid") UUID descendantUuid);
+
+    @Query("select o from ProfessionalUser u, OrganisationClosure c, Organisation o "
+        + "where u.userId = :userId and c.descendantUuid = u.organisation.uuid and o.uuid = c.ancestorUuid and o.organisation is null")
+    Optional<Organisation> findRootByProfessionalUserId(@Param("userId") String userId);
+
+    @Query("select o.uuid from OrganisationClosure c, Organisation o where c.ancestorUuid = :uuid and o.uuid = c.descendantUuid")
+    List<UUID> findUuidsInHierarchyOf(@Param("uuid") UUID uuid);
+
+    @Modifying
+    @Query("update Organisation o set o.deleted = :deleted where o.deleted is null "
+        + "and o.uuid in (select c.descendantUuid from OrganisationClosure c where c.ancestorUuid = :uuid)")
+    int softDeleteAllInHierarchyOf(@Param("uuid") UUID uuid, @Param("deleted") Instant deleted);
+
+    Slice<Organisation> findByNameStartingWithAndNameGreaterThan(String namePrefix, String name, Pageable pageable);
+
+    @Query("select o.uuid as uuid, o.name as name, o.organisationType as organisationType, p.uuid as parentOrganisationId "
+        + "from Organisation o left join o.organisation p")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<OrganisationExportRow> streamAllForExport();
+
 }
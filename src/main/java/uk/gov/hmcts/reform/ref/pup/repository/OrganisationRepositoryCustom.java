@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import java.util.UUID;
+
+public interface OrganisationRepositoryCustom {
+
+    /**
+     * Adds the closure rows of a new organisation, under its parent or as a root when the parent is null.
+     */
+    void insertIntoHierarchy(UUID organisationUuid, UUID parentUuid);
+
+    /**
+     * Moves the organisation and all its descendants under another parent, or makes it a root when the parent is null.
+     */
+    void moveInHierarchy(UUID organisationUuid, UUID parentUuid);
+
+    /**
+     * Deletes up to {@code chunkSize} soft deleted rows from each table, leaves first, and returns how many.
+     */
+    int purgeDeleted(int chunkSize);
+
+}
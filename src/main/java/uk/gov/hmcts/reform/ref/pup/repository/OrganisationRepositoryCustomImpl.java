@@ -0,0 +1,104 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the {@code organisation_closure} table with set based statements, whatever the size of the branch.
+ *
+ * <p>The organisation rows must have been flushed beforehand, the closure rows reference them.</p>
+ */
+public class OrganisationRepositoryCustomImpl implements OrganisationRepositoryCustom {
+
+    static final String INSERT_SELF =
+        "INSERT INTO organisation_closure (ancestor_uuid, descendant_uuid, depth) VALUES (?, ?, 0)";
+
+    static final String INSERT_ANCESTORS =
+        "INSERT INTO organisation_closure (ancestor_uuid, descendant_uuid, depth) "
+            + "SELECT ancestor_uuid, ?, depth + 1 FROM organisation_closure WHERE descendant_uuid = ?";
+
+    // The links between the branch and its former ancestors, the links inside the branch are kept.
+    static final String DETACH_BRANCH =
+        "DELETE FROM organisation_closure "
+            + "WHERE descendant_uuid IN (SELECT descendant_uuid FROM organisation_closure WHERE ancestor_uuid = ?) "
+            + "AND ancestor_uuid NOT IN (SELECT descendant_uuid FROM organisation_closure WHERE ancestor_uuid = ?)";
+
+    static final String ATTACH_BRANCH =
+        "INSERT INTO organisation_closure (ancestor_uuid, descendant_uuid, depth) "
+            + "SELECT a.ancestor_uuid, b.descendant_uuid, a.depth + b.depth + 1 "
+            + "FROM organisation_closure a, organisation_closure b "
+            + "WHERE a.descendant_uuid = ? AND b.ancestor_uuid = ?";
+
+    static final String PURGE_USER_ASSIGNMENTS =
+        "DELETE FROM assignment WHERE uuid IN (SELECT s.uuid FROM professional_user u "
+            + "JOIN assignment s ON s.professional_user_uuid = u.uuid WHERE u.deleted IS NOT NULL LIMIT ?)";
+
+    static final String PURGE_ADDRESS_ASSIGNMENTS =
+        "DELETE FROM assignment WHERE uuid IN (SELECT s.uuid FROM address a "
+            + "JOIN assignment s ON s.address_uuid = a.uuid WHERE a.deleted IS NOT NULL LIMIT ?)";
+
+    static final String PURGE_PAYMENT_ACCOUNT_ASSIGNMENTS =
+        "DELETE FROM assignment WHERE uuid IN (SELECT s.uuid FROM payment_account pa "
+            + "JOIN assignment s ON s.payment_account_uuid = pa.uuid WHERE pa.deleted IS NOT NULL LIMIT ?)";
+
+    static final String PURGE_PROFESSIONAL_USERS =
+        "DELETE FROM professional_user WHERE uuid IN (SELECT u.uuid FROM professional_user u WHERE u.deleted IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM assignment s WHERE s.professional_user_uuid = u.uuid) LIMIT ?)";
+
+    static final String PURGE_ADDRESSES =
+        "DELETE FROM address WHERE uuid IN (SELECT a.uuid FROM address a WHERE a.deleted IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM assignment s WHERE s.address_uuid = a.uuid) LIMIT ?)";
+
+    static final String PURGE_PAYMENT_ACCOUNTS =
+        "DELETE FROM payment_account WHERE uuid IN (SELECT pa.uuid FROM payment_account pa WHERE pa.deleted IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM assignment s WHERE s.payment_account_uuid = pa.uuid) LIMIT ?)";
+
+    // Only the organisations left without branches, addresses, payment accounts or users, the others are purged by
+    // the following chunks once these are gone.
+    static final String PURGE_ORGANISATIONS =
+        "DELETE FROM organisation WHERE uuid IN (SELECT o.uuid FROM organisation o WHERE o.deleted IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM organisation b WHERE b.organisation_uuid = o.uuid) "
+            + "AND NOT EXISTS (SELECT 1 FROM address a WHERE a.organisation_uuid = o.uuid) "
+            + "AND NOT EXISTS (SELECT 1 FROM payment_account pa WHERE pa.organisation_uuid = o.uuid) "
+            + "AND NOT EXISTS (SELECT 1 FROM professional_user u WHERE u.organisation_uuid = o.uuid) LIMIT ?)";
+
+    private static final List<String> PURGES = Arrays.asList(
+        PURGE_USER_ASSIGNMENTS, PURGE_ADDRESS_ASSIGNMENTS, PURGE_PAYMENT_ACCOUNT_ASSIGNMENTS,
+        PURGE_PROFESSIONAL_USERS, PURGE_ADDRESSES, PURGE_PAYMENT_ACCOUNTS, PURGE_ORGANISATIONS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrganisationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertIntoHierarchy(UUID organisationUuid, UUID parentUuid) {
+        jdbcTemplate.update(INSERT_SELF, organisationUuid, organisationUuid);
+        if (parentUuid != null) {
+            jdbcTemplate.update(INSERT_ANCESTORS, organisationUuid, parentUuid);
+        }
+    }
+
+    @Override
+    public void moveInHierarchy(UUID organisationUuid, UUID parentUuid) {
+        jdbcTemplate.update(DETACH_BRANCH, organisationUuid, organisationUuid);
+        if (parentUuid != null) {
+            jdbcTemplate.update(ATTACH_BRANCH, parentUuid, organisationUuid);
+        }
+    }
+
+    @Override
+    public int purgeDeleted(int chunkSize) {
+        int purged = 0;
+        for (String purge : PURGES) {
+            purged += jdbcTemplate.update(purge, chunkSize);
+        }
+        return purged;
+    }
+}
@@ -1,16 +1,63 @@
 package uk.gov.hmcts.reform.ref.pup.repository;
 
 import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountExportRow;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 public interface PaymentAccountRepository extends CrudRepository<PaymentAccount, UUID> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<PaymentAccount> findByPbaNumber(String pbaNumber);
 
-    void deleteByPbaNumber(String pbaNumber);
+    @Query("select new uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto(pa.uuid, pa.pbaNumber, o.uuid) "
+        + "from PaymentAccount pa left join pa.organisation o where pa.pbaNumber = :pbaNumber")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    Optional<PaymentAccountDto> findDtoByPbaNumber(@Param("pbaNumber") String pbaNumber);
+
+    List<PaymentAccount> findAllByPbaNumberIn(Collection<String> pbaNumbers);
+
+    @Query("select pa from OrganisationClosure c, PaymentAccount pa "
+        + "where c.ancestorUuid = :uuid and pa.organisation.uuid = c.descendantUuid order by pa.pbaNumber")
+    List<PaymentAccount> findAllInHierarchyOf(@Param("uuid") UUID organisationUuid);
+
+    @Query("select new uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto(pa.uuid, pa.pbaNumber, pa.organisation.uuid) "
+        + "from OrganisationClosure c, PaymentAccount pa "
+        + "where c.ancestorUuid = :uuid and pa.organisation.uuid = c.descendantUuid order by pa.pbaNumber")
+    List<PaymentAccountDto> findAllDtosInHierarchyOf(@Param("uuid") UUID organisationUuid);
+
+    @Query("select pa.version from PaymentAccount pa where pa.pbaNumber = :pbaNumber")
+    Optional<Long> findVersionByPbaNumber(@Param("pbaNumber") String pbaNumber);
+
+    @Modifying
+    @Query("update PaymentAccount pa set pa.deleted = :deleted where pa.deleted is null and pa.pbaNumber = :pbaNumber")
+    int softDeleteByPbaNumber(@Param("pbaNumber") String pbaNumber, @Param("deleted") Instant deleted);
+
+    @Modifying
+    @Query("update PaymentAccount pa set pa.deleted = :deleted where pa.deleted is null "
+        + "and pa.organisation.uuid in (select c.descendantUuid from OrganisationClosure c where c.ancestorUuid = :uuid)")
+    int softDeleteAllInHierarchyOf(@Param("uuid") UUID organisationUuid, @Param("deleted") Instant deleted);
+
+    @Query("select pa.uuid as uuid, pa.organisation.uuid as organisationId, pa.pbaNumber as pbaNumber, pa.paymentAccountType as type "
+        + "from PaymentAccount pa")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<PaymentAccountExportRow> streamAllForExport();
 
-}
\ No newline at end of file
+}
@@ -1,17 +1,81 @@
 package uk.gov.hmcts.reform.ref.pup.repository;
 
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserExportRow;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ProfessionalUserRepository extends CrudRepository<ProfessionalUser, UUID> {
+import javax.persistence.QueryHint;
+
+public interface ProfessionalUserRepository extends PagingAndSortingRepository<ProfessionalUser, UUID> {
 
     Optional<ProfessionalUser> findOneByEmail(String email);
 
     Optional<ProfessionalUser> findOneByUserId(String userId);
-    
-    void deleteByUserId(String userId);
+
+    @Query("select new uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto(u.uuid, u.userId, u.firstName, u.surname, u.email, u.phoneNumber) "
+        + "from ProfessionalUser u where u.userId = :userId")
+    Optional<ProfessionalUserDto> findDtoByUserId(@Param("userId") String userId);
+
+    List<ProfessionalUser> findAllByUserIdIn(Collection<String> userIds);
+
+    List<ProfessionalUser> findAllByEmailIn(Collection<String> emails);
+
+    @Query("select u.version from ProfessionalUser u where u.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") String userId);
+
+    Slice<ProfessionalUser> findByUserIdGreaterThan(String userId, Pageable pageable);
+
+    Slice<ProfessionalUser> findByOrganisationUuidAndUserIdGreaterThan(UUID organisationUuid, String userId, Pageable pageable);
+
+    Slice<ProfessionalUser> findByEmailDomainAndUserIdGreaterThan(String emailDomain, String userId, Pageable pageable);
+
+    Slice<ProfessionalUser> findByOrganisationUuidAndEmailDomainAndUserIdGreaterThan(UUID organisationUuid, String emailDomain, String userId, Pageable pageable);
+
+    @Query("select distinct u from ProfessionalUser u join fetch u.organisation o left join fetch o.paymentAccounts where u.userId = :userId")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    Optional<ProfessionalUser> findWithFullDetailByUserId(@Param("userId") String userId);
+
+    @Query("select u.organisation.uuid from ProfessionalUser u where u.userId = :userId")
+    Optional<UUID> findOrganisationUuidByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("update ProfessionalUser u set u.deleted = :deleted where u.deleted is null and u.userId = :userId")
+    int softDeleteByUserId(@Param("userId") String userId, @Param("deleted") Instant deleted);
+
+    @Modifying
+    @Query("update ProfessionalUser u set u.deleted = :deleted where u.deleted is null "
+        + "and u.organisation.uuid in (select c.descendantUuid from OrganisationClosure c where c.ancestorUuid = :uuid)")
+    int softDeleteAllInHierarchyOf(@Param("uuid") UUID organisationUuid, @Param("deleted") Instant deleted);
+
+    @Query("select u.userId from ProfessionalUser u where u.organisation.uuid = :organisationUuid")
+    List<String> findUserIdsByOrganisationUuid(@Param("organisationUuid") UUID organisationUuid);
+
+    @Query("select u.userId from OrganisationClosure c, ProfessionalUser u where c.ancestorUuid = :uuid and u.organisation.uuid = c.descendantUuid")
+    List<String> findUserIdsInHierarchyOf(@Param("uuid") UUID organisationUuid);
+
+    @Query("select u.uuid as uuid, u.organisation.uuid as organisationId, u.userId as userId, u.firstName as firstName, "
+        + "u.surname as surname, u.email as email, u.phoneNumber as phoneNumber from ProfessionalUser u")
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    Stream<ProfessionalUserExportRow> streamAllForExport();
+
+    @Query("select u.userId from ProfessionalUser u, PaymentAccount pa where pa.pbaNumber = :pbaNumber and u.organisation = pa.organisation")
+    List<String> findUserIdsByPbaNumber(@Param("pbaNumber") String pbaNumber);
 }
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.ref.pup.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.UserProfileView;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+public interface UserProfileViewRepository extends CrudRepository<UserProfileView, String> {
+
+    /**
+     * Locks the document of the user, so that concurrent rebuilds compare their versions one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from UserProfileView v where v.userId = :userId")
+    Optional<UserProfileView> findForUpdateByUserId(@Param("userId") String userId);
+
+    @Query("select u.userId from ProfessionalUser u where u.userId > :userId "
+        + "and not exists (select v.userId from UserProfileView v where v.userId = u.userId) order by u.userId")
+    List<String> findUserIdsWithoutViewAfter(@Param("userId") String userId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from UserProfileView v where v.userId in :userIds")
+    void deleteByUserIdIn(@Param("userIds") Collection<String> userIds);
+
+}
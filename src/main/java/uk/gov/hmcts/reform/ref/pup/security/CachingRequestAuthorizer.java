@@ -0,0 +1,144 @@
+package uk.gov.hmcts.reform.ref.pup.security;
+
+import uk.gov.hmcts.reform.auth.checker.core.RequestAuthorizer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Remembers what a {@link RequestAuthorizer} resolved for a token so repeated requests with the same token skip the
+ * remote S2S or IDAM call.
+ *
+ * <p>Entries are keyed by the SHA-256 of the header, never the token itself, and live until the earliest of the
+ * token {@code exp} claim and the configured time to live. Failed authorisations are not cached. This is only safe
+ * because the authorised services, roles and user id extractors of this application do not depend on the request.</p>
+ */
+public class CachingRequestAuthorizer<T> implements RequestAuthorizer<T> {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final RequestAuthorizer<T> delegate;
+
+    private final String header;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    private final Cache<String, Authorisation<T>> cache;
+
+    public CachingRequestAuthorizer(RequestAuthorizer<T> delegate, String header, long maximumSize, Duration timeToLive, Clock clock) {
+        this.delegate = delegate;
+        this.header = header;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfter(new AuthorisationExpiry<T>(clock))
+                             .recordStats()
+                             .build();
+    }
+
+    @Override
+    public T authorise(HttpServletRequest request) {
+        String token = request.getHeader(header);
+        if (token == null || token.isEmpty()) {
+            return delegate.authorise(request);
+        }
+
+        String key = sha256(token);
+        Authorisation<T> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.subject;
+        }
+
+        T subject = delegate.authorise(request);
+        cache.put(key, new Authorisation<>(subject, expiresAt(token)));
+        return subject;
+    }
+
+    public Cache<String, Authorisation<T>> getCache() {
+        return cache;
+    }
+
+    private long expiresAt(String token) {
+        long maximum = clock.millis() + timeToLive.toMillis();
+        Long exp = expClaim(token);
+        return exp == null ? maximum : Math.min(maximum, TimeUnit.SECONDS.toMillis(exp));
+    }
+
+    private static Long expClaim(String token) {
+        String jwt = token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
+        String[] parts = jwt.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode exp = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong() ? exp.asLong() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static final class Authorisation<T> {
+
+        private final T subject;
+
+        private final long expiresAt;
+
+        Authorisation(T subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class AuthorisationExpiry<T> implements Expiry<String, Authorisation<T>> {
+
+        private final Clock clock;
+
+        AuthorisationExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Authorisation<T> value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Authorisation<T> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Authorisation<T> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
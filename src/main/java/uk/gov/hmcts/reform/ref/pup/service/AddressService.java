@@ -4,9 +4,12 @@ import uk.gov.hmcts.reform.ref.pup.domain.Address;
 import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface AddressService {
 
     Address create(UUID organisationUuid, AddressCreation address) throws ApplicationException;
+
+    List<Address> createAll(UUID organisationUuid, List<AddressCreation> addresses) throws ApplicationException;
 }
\ No newline at end of file
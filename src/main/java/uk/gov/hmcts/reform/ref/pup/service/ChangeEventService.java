@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.ref.pup.service;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+
+import java.util.List;
+
+public interface ChangeEventService {
+
+    void record(ChangeEvent changeEvent);
+
+    void recordAll(List<ChangeEvent> changeEvents);
+
+    List<ChangeEvent> retrieveSince(long sequence, int size);
+
+    int purge();
+
+}
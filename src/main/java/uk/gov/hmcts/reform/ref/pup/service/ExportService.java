@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.ref.pup.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void export(OutputStream outputStream) throws IOException;
+
+}
@@ -2,8 +2,12 @@ package uk.gov.hmcts.reform.ref.pup.service;
 
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,6 +17,24 @@ public interface OrganisationService {
 
     Optional<Organisation> retrieve(UUID organisationUuid) throws ApplicationException;
 
+    Optional<OrganisationDto> retrieveDto(UUID organisationUuid) throws ApplicationException;
+
+    Optional<Organisation> retrieveWithAddresses(UUID organisationUuid) throws ApplicationException;
+
+    Optional<Organisation> retrieveForChildChange(UUID organisationUuid) throws ApplicationException;
+
+    Optional<Long> retrieveVersion(UUID organisationUuid) throws ApplicationException;
+
+    List<Organisation> retrieveDescendants(UUID organisationUuid) throws ApplicationException;
+
+    Optional<Organisation> retrieveRootForProfessionalUser(String userId) throws ApplicationException;
+
+    Organisation moveUnder(UUID organisationUuid, UUID parentOrganisationUuid) throws ApplicationException;
+
+    Slice<Organisation> search(String namePrefix, String afterName, int size) throws ApplicationException;
+
     void delete(UUID organisationUuid) throws ApplicationException;
 
+    int purgeDeleted();
+
 }
\ No newline at end of file
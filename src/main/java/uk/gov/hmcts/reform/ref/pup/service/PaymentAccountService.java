@@ -2,11 +2,15 @@ package uk.gov.hmcts.reform.ref.pup.service;
 
 import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignment;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignmentResult;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface PaymentAccountService {
 
@@ -14,12 +18,24 @@ public interface PaymentAccountService {
 
     Optional<PaymentAccount> retrieve(String pbaNumber) throws ApplicationException;
 
+    Optional<PaymentAccountDto> retrieveDto(String pbaNumber) throws ApplicationException;
+
+    List<PaymentAccount> retrieveAll(Collection<String> pbaNumbers) throws ApplicationException;
+
+    Optional<Long> retrieveVersion(String pbaNumber) throws ApplicationException;
+
+    List<PaymentAccount> retrieveAllInHierarchyOf(UUID organisationUuid) throws ApplicationException;
+
+    List<PaymentAccountDto> retrieveAllDtosInHierarchyOf(UUID organisationUuid) throws ApplicationException;
+
     void delete(String pbaNumber) throws ApplicationException;
 
     List<PaymentAccount> retrieveForUser(String userId) throws ApplicationException;
 
-    void assign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException;
+    PaymentAccount assign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException;
+
+    List<PaymentAccountAssignmentResult> assignAll(String pbaNumber, List<PaymentAccountAssignment> paymentAccountAssignments) throws ApplicationException;
 
-    void unassign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException;
+    PaymentAccount unassign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException;
 
 }
\ No newline at end of file
@@ -2,15 +2,33 @@ package uk.gov.hmcts.reform.ref.pup.service;
 
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface ProfessionalUserService {
 
     ProfessionalUser create(ProfessionalUserCreation professionalUser) throws ApplicationException;
 
+    List<ProfessionalUser> createAll(UUID organisationUuid, List<ProfessionalUserCreation> professionalUsers) throws ApplicationException;
+
     Optional<ProfessionalUser> retrieve(String userId) throws ApplicationException;
 
+    Optional<ProfessionalUserDto> retrieveDto(String userId) throws ApplicationException;
+
+    List<ProfessionalUser> retrieveAll(Collection<String> userIds) throws ApplicationException;
+
+    Optional<ProfessionalUser> retrieveWithFullDetail(String userId) throws ApplicationException;
+
+    Optional<Long> retrieveVersion(String userId) throws ApplicationException;
+
+    Slice<ProfessionalUser> search(UUID organisationUuid, String emailDomain, String afterUserId, int size) throws ApplicationException;
+
     void delete(String userId) throws ApplicationException;
 }
\ No newline at end of file
@@ -8,10 +8,11 @@ import uk.gov.hmcts.reform.ref.pup.service.AddressService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
-
-import javax.transaction.Transactional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -30,4 +31,10 @@ public class AddressServiceAdaptor {
         return addressConverter.apply(addressService.create(organisationUuid, address));
     }
 
+    public List<AddressDto> createAll(UUID organisationUuid, List<AddressCreation> addresses) throws ApplicationException {
+        return addressService.createAll(organisationUuid, addresses).stream()
+            .map(addressConverter)
+            .collect(Collectors.toList());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.ref.pup.service.adaptor;
+
+import uk.gov.hmcts.reform.ref.pup.converter.ChangeEventConverter;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.dto.ChangeFeedDto;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ChangeEventServiceAdaptor {
+
+    private final ChangeEventService changeEventService;
+    private final ChangeEventConverter changeEventConverter;
+
+    @Autowired
+    public ChangeEventServiceAdaptor(ChangeEventService changeEventService, ChangeEventConverter changeEventConverter) {
+        this.changeEventService = changeEventService;
+        this.changeEventConverter = changeEventConverter;
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedDto retrieveSince(long sequence, int size) {
+        List<ChangeEvent> changeEvents = changeEventService.retrieveSince(sequence, ChangeFeedDto.batchSize(size));
+
+        return ChangeFeedDto.builder()
+                .changes(changeEvents.stream().map(changeEventConverter).collect(Collectors.toList()))
+                .next(changeEvents.isEmpty() ? sequence : changeEvents.get(changeEvents.size() - 1).getSequence())
+                .build();
+    }
+
+}
@@ -2,18 +2,21 @@ package uk.gov.hmcts.reform.ref.pup.service.adaptor;
 
 import uk.gov.hmcts.reform.ref.pup.converter.OrganisationConverter;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.dto.CursorPageDto;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationParentUpdate;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-
-import javax.transaction.Transactional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,17 +32,45 @@ public class OrganisationServiceAdaptor {
         this.organisationConverter = organisationConverter;
     }
 
+    @Transactional(rollbackFor = ApplicationException.class)
     public OrganisationDto create(OrganisationCreation organisation) throws ApplicationException {
         return organisationConverter.apply(organisationService.create(organisation));
     }
 
+    @Transactional(readOnly = true)
     public Optional<OrganisationDto> retrieve(UUID organisationUuid) throws ApplicationException {
-        Optional<Organisation> retrieve = organisationService.retrieve(organisationUuid);
-        if (retrieve.isPresent()) {
-            return Optional.of(organisationConverter.apply(retrieve.get()));
-        } else {
-            return Optional.empty();
-        }
+        return organisationService.retrieveDto(organisationUuid);
+    }
+
+    /**
+     * Returns the ETag of the organisation, its version, without loading it.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> retrieveETag(UUID organisationUuid) throws ApplicationException {
+        return organisationService.retrieveVersion(organisationUuid).map(String::valueOf);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrganisationDto> retrieveDescendants(UUID organisationUuid) throws ApplicationException {
+        return organisationService.retrieveDescendants(organisationUuid).stream()
+                                  .map(organisationConverter)
+                                  .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrganisationDto> retrieveRootForProfessionalUser(String userId) throws ApplicationException {
+        return organisationService.retrieveRootForProfessionalUser(userId).map(organisationConverter);
+    }
+
+    public OrganisationDto moveUnder(UUID organisationUuid, OrganisationParentUpdate parentUpdate) throws ApplicationException {
+        return organisationConverter.apply(organisationService.moveUnder(organisationUuid, parentUpdate.getParentOrganisationId()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrganisationDto> search(String namePrefix, String cursor, int size) throws ApplicationException {
+        return CursorPageDto.of(
+            organisationService.search(namePrefix == null ? "" : namePrefix, CursorPageDto.decodeCursor(cursor), CursorPageDto.pageSize(size)),
+            organisationConverter, Organisation::getName);
     }
 
     public void delete(UUID organisationUuid) throws ApplicationException {
@@ -2,7 +2,9 @@ package uk.gov.hmcts.reform.ref.pup.service.adaptor;
 
 import uk.gov.hmcts.reform.ref.pup.converter.PaymentAccountConverter;
 import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.dto.BatchGetDto;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignment;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignmentResult;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
@@ -10,13 +12,14 @@ import uk.gov.hmcts.reform.ref.pup.service.PaymentAccountService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 @Service
 @Transactional
 public class PaymentAccountServiceAdaptor {
@@ -30,23 +33,40 @@ public class PaymentAccountServiceAdaptor {
         this.paymentAccountConverter = paymentAccountConverter;
     }
 
+    @Transactional(rollbackFor = ApplicationException.class)
     public PaymentAccountDto create(PaymentAccountCreation paymentAccount) throws ApplicationException {
         return paymentAccountConverter.apply(paymentAccountService.create(paymentAccount));
     }
 
+    @Transactional(readOnly = true)
     public Optional<PaymentAccountDto> retrieve(String pbaNumber) throws ApplicationException {
-        Optional<PaymentAccount> retrieve = paymentAccountService.retrieve(pbaNumber);
-        if (retrieve.isPresent()) {
-            return Optional.of(paymentAccountConverter.apply(retrieve.get()));
-        } else {
-            return Optional.empty();
-        }
+        return paymentAccountService.retrieveDto(pbaNumber);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> retrieveETag(String pbaNumber) throws ApplicationException {
+        return paymentAccountService.retrieveVersion(pbaNumber).map(String::valueOf);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchGetDto<PaymentAccountDto> retrieveAll(Collection<String> pbaNumbers) throws ApplicationException {
+        Collection<String> keys = BatchGetDto.distinctKeys(pbaNumbers);
+        return BatchGetDto.of(keys, paymentAccountService.retrieveAll(keys), PaymentAccount::getPbaNumber, paymentAccountConverter);
+    }
+
+    /**
+     * Returns the payment accounts of the organisation and of all its branches.
+     */
+    @Transactional(readOnly = true)
+    public List<PaymentAccountDto> retrieveAllInHierarchyOf(UUID organisationUuid) throws ApplicationException {
+        return paymentAccountService.retrieveAllDtosInHierarchyOf(organisationUuid);
     }
 
     public void delete(String pbaNumber) throws ApplicationException {
         paymentAccountService.delete(pbaNumber);
     }
 
+    @Transactional(readOnly = true)
     public List<PaymentAccountDto> retrieveForUser(String username) throws ApplicationException {
         List<PaymentAccount> retrieve = paymentAccountService.retrieveForUser(username);
         return retrieve.stream().map(paymentAccountConverter)
@@ -54,13 +74,17 @@ public class PaymentAccountServiceAdaptor {
 
     }
 
+    @Transactional(rollbackFor = ApplicationException.class)
     public PaymentAccountDto assign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException {
-        paymentAccountService.assign(pbaNumber, paymentAccountAssignment);
-        return retrieve(pbaNumber).orElseThrow(NullPointerException::new);
+        return paymentAccountConverter.apply(paymentAccountService.assign(pbaNumber, paymentAccountAssignment));
+    }
+
+    @Transactional(rollbackFor = ApplicationException.class)
+    public List<PaymentAccountAssignmentResult> assignAll(String pbaNumber, List<PaymentAccountAssignment> paymentAccountAssignments) throws ApplicationException {
+        return paymentAccountService.assignAll(pbaNumber, paymentAccountAssignments);
     }
 
     public PaymentAccountDto unassign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException {
-        paymentAccountService.unassign(pbaNumber, paymentAccountAssignment);
-        return retrieve(pbaNumber).orElseThrow(NullPointerException::new);
+        return paymentAccountConverter.apply(paymentAccountService.unassign(pbaNumber, paymentAccountAssignment));
     }
 }
\ No newline at end of file
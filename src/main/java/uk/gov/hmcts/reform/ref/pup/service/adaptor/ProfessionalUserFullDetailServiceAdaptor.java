@@ -1,37 +1,48 @@
 package uk.gov.hmcts.reform.ref.pup.service.adaptor;
 
+import uk.gov.hmcts.reform.ref.pup.cache.ProfessionalUserFullDetailCache;
 import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserFullDetailConverter;
-import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserFullDetailDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewStore;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
-import javax.transaction.Transactional;
-
 @Service
 @Transactional
 public class ProfessionalUserFullDetailServiceAdaptor {
 
     private final ProfessionalUserService professionalUserService;
     private final ProfessionalUserFullDetailConverter professionalUserConverter;
+    private final UserProfileViewStore userProfileViewStore;
 
     @Autowired
-    public ProfessionalUserFullDetailServiceAdaptor(ProfessionalUserService professionalUserService, ProfessionalUserFullDetailConverter professionalUserConverter) {
+    public ProfessionalUserFullDetailServiceAdaptor(ProfessionalUserService professionalUserService, ProfessionalUserFullDetailConverter professionalUserConverter,
+            UserProfileViewStore userProfileViewStore) {
         this.professionalUserService = professionalUserService;
         this.professionalUserConverter = professionalUserConverter;
+        this.userProfileViewStore = userProfileViewStore;
     }
 
+    /**
+     * Returns the full detail from the user profile view with a single query, or from the tables when it has not been
+     * stored yet. What a replica served is not cached.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = ProfessionalUserFullDetailCache.NAME,
+        unless = "#result == null || T(uk.gov.hmcts.reform.ref.pup.datasource.ReadReplicaRoutingDataSource).isReadingFromReplica()")
     public Optional<ProfessionalUserFullDetailDto> retrieve(String userId) throws ApplicationException {
-        Optional<ProfessionalUser> retrieve = professionalUserService.retrieve(userId);
-        if (retrieve.isPresent()) {
-            return Optional.of(professionalUserConverter.apply(retrieve.get()));
-        } else {
-            return Optional.empty();
+        Optional<ProfessionalUserFullDetailDto> view = userProfileViewStore.find(userId);
+        if (view.isPresent()) {
+            return view;
         }
+
+        return professionalUserService.retrieveWithFullDetail(userId).map(professionalUserConverter);
     }
 }
\ No newline at end of file
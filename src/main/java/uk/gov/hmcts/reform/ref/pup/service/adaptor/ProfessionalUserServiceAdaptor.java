@@ -2,6 +2,8 @@ package uk.gov.hmcts.reform.ref.pup.service.adaptor;
 
 import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserConverter;
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.BatchGetDto;
+import uk.gov.hmcts.reform.ref.pup.dto.CursorPageDto;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
@@ -9,10 +11,13 @@ import uk.gov.hmcts.reform.ref.pup.service.ProfessionalUserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-
-import javax.transaction.Transactional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -27,17 +32,39 @@ public class ProfessionalUserServiceAdaptor {
         this.professionalUserConverter = professionalUserConverter;
     }
 
+    @Transactional(rollbackFor = ApplicationException.class)
     public ProfessionalUserDto create(ProfessionalUserCreation professionalUser) throws ApplicationException {
         return professionalUserConverter.apply(professionalUserService.create(professionalUser));
     }
 
+    @Transactional(rollbackFor = ApplicationException.class)
+    public List<ProfessionalUserDto> createAll(UUID organisationUuid, List<ProfessionalUserCreation> professionalUsers) throws ApplicationException {
+        return professionalUserService.createAll(organisationUuid, professionalUsers).stream()
+            .map(professionalUserConverter)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public Optional<ProfessionalUserDto> retrieve(String userId) throws ApplicationException {
-        Optional<ProfessionalUser> retrieve = professionalUserService.retrieve(userId);
-        if (retrieve.isPresent()) {
-            return Optional.of(professionalUserConverter.apply(retrieve.get()));
-        } else {
-            return Optional.empty();
-        }
+        return professionalUserService.retrieveDto(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> retrieveETag(String userId) throws ApplicationException {
+        return professionalUserService.retrieveVersion(userId).map(String::valueOf);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchGetDto<ProfessionalUserDto> retrieveAll(Collection<String> userIds) throws ApplicationException {
+        Collection<String> keys = BatchGetDto.distinctKeys(userIds);
+        return BatchGetDto.of(keys, professionalUserService.retrieveAll(keys), ProfessionalUser::getUserId, professionalUserConverter);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProfessionalUserDto> search(UUID organisationUuid, String emailDomain, String cursor, int size) throws ApplicationException {
+        return CursorPageDto.of(
+            professionalUserService.search(organisationUuid, emailDomain, CursorPageDto.decodeCursor(cursor), CursorPageDto.pageSize(size)),
+            professionalUserConverter, ProfessionalUser::getUserId);
     }
 
     public void delete(String userId) throws ApplicationException {
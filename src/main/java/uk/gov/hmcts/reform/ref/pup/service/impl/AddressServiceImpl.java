@@ -1,6 +1,9 @@
 package uk.gov.hmcts.reform.ref.pup.service.impl;
 
 import uk.gov.hmcts.reform.ref.pup.domain.Address;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
@@ -8,13 +11,16 @@ import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErr
 import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
 import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
 import uk.gov.hmcts.reform.ref.pup.service.AddressService;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
-
-import javax.transaction.Transactional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,18 +30,59 @@ public class AddressServiceImpl implements AddressService {
 
     private final OrganisationRepository organisationRepository;
 
+    private final UserProfileViewUpdater userProfileViewUpdater;
+
+    private final ChangeEventService changeEventService;
+
     @Autowired
-    public AddressServiceImpl(AddressRepository addressRepository, OrganisationRepository organisationRepository) {
+    public AddressServiceImpl(AddressRepository addressRepository, OrganisationRepository organisationRepository, UserProfileViewUpdater userProfileViewUpdater, ChangeEventService changeEventService) {
         this.organisationRepository = organisationRepository;
         this.addressRepository = addressRepository;
+        this.userProfileViewUpdater = userProfileViewUpdater;
+        this.changeEventService = changeEventService;
     }
 
     @Override
     public Address create(UUID organisationUuid, AddressCreation addressCreation) throws ApplicationException {
 
-        Organisation organisation = organisationRepository.findById(organisationUuid)
+        Organisation organisation = organisationRepository.findForChildChangeByUuid(organisationUuid)
+                                        .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
+
+        Address address = newAddress(organisation, addressCreation);
+
+        userProfileViewUpdater.invalidateOrganisation(organisation.getUuid());
+
+        Address saved = addressRepository.save(address);
+        changeEventService.record(addressCreated(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Address> createAll(UUID organisationUuid, List<AddressCreation> addressCreations) throws ApplicationException {
+
+        Organisation organisation = organisationRepository.findForChildChangeByUuid(organisationUuid)
                                         .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
 
+        List<Address> addresses = addressCreations.stream()
+            .map(addressCreation -> newAddress(organisation, addressCreation))
+            .collect(Collectors.toList());
+
+        userProfileViewUpdater.invalidateOrganisation(organisation.getUuid());
+
+        // The inserts are sent as JDBC batches of hibernate.jdbc.batch_size when the transaction flushes.
+        addressRepository.saveAll(addresses);
+        // The uuids are generated when the addresses are persisted, before the inserts are flushed.
+        changeEventService.recordAll(addresses.stream().map(this::addressCreated).collect(Collectors.toList()));
+        return addresses;
+    }
+
+    private ChangeEvent addressCreated(Address address) {
+        ChangeEvent changeEvent = ChangeEvent.of(ChangeEntityType.ADDRESS, address.getUuid(), ChangeType.CREATED, address.getOrganisation().getUuid());
+        changeEvent.setAddressId(address.getUuid());
+        return changeEvent;
+    }
+
+    private Address newAddress(Organisation organisation, AddressCreation addressCreation) {
         Address address = new Address();
         address.setOrganisation(organisation);
         address.setAddressType(addressCreation.getType());
@@ -45,7 +92,6 @@ public class AddressServiceImpl implements AddressService {
         address.setCity(addressCreation.getCity());
         address.setCountry(addressCreation.getCountry());
         address.setCounty(addressCreation.getCounty());
-
-        return addressRepository.save(address);
+        return address;
     }
 }
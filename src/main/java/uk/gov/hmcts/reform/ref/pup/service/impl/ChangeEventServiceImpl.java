@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.ref.pup.service.impl;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.repository.ChangeEventRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional
+public class ChangeEventServiceImpl implements ChangeEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventServiceImpl.class);
+
+    private final ChangeEventRepository changeEventRepository;
+
+    private final Duration retention;
+
+    @Autowired
+    public ChangeEventServiceImpl(ChangeEventRepository changeEventRepository,
+                                  @Value("${change-feed.retention-days}") long retentionDays) {
+        this.changeEventRepository = changeEventRepository;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEvent changeEvent) {
+        pendingChangeEvents().add(changeEvent);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<ChangeEvent> changeEvents) {
+        pendingChangeEvents().addAll(changeEvents);
+    }
+
+    private List<ChangeEvent> pendingChangeEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChangeEvents) {
+                return ((PendingChangeEvents) synchronization).changeEvents;
+            }
+        }
+        PendingChangeEvents pendingChangeEvents = new PendingChangeEvents();
+        TransactionSynchronizationManager.registerSynchronization(pendingChangeEvents);
+        return pendingChangeEvents.changeEvents;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChangeEvent> retrieveSince(long sequence, int size) {
+        return changeEventRepository.findBySequenceGreaterThan(sequence, PageRequest.of(0, size, Sort.by("sequence")));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${change-feed.purge-interval-ms}")
+    public int purge() {
+        int purged = changeEventRepository.deleteByCreatedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} change events older than {}", purged, retention);
+        }
+        return purged;
+    }
+
+    /**
+     * The events recorded in a transaction, appended just before it commits so that their sequences follow the commit
+     * order and a consumer never moves past a sequence that is not visible yet.
+     */
+    private class PendingChangeEvents extends TransactionSynchronizationAdapter {
+
+        private final List<ChangeEvent> changeEvents = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changeEventRepository.appendAll(changeEvents);
+        }
+    }
+
+}
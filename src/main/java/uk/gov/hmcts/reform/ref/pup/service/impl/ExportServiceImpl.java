@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.ref.pup.service.impl;
+
+import uk.gov.hmcts.reform.ref.pup.dto.AddressExportRow;
+import uk.gov.hmcts.reform.ref.pup.dto.ExportRecord;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationExportRow;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountExportRow;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserExportRow;
+import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ExportService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every organisation, address, payment account and professional user as newline-delimited JSON.
+ *
+ * <p>Rows are read as scalar projections from forward-only cursors, so nothing is added to the persistence context
+ * and only one fetch-size window of rows is held at a time whatever the size of the dataset. The four tables are read
+ * in a single repeatable read transaction, so they are exported as of the same snapshot.</p>
+ */
+@Service
+@Transactional
+public class ExportServiceImpl implements ExportService {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final OrganisationRepository organisationRepository;
+
+    private final AddressRepository addressRepository;
+
+    private final PaymentAccountRepository paymentAccountRepository;
+
+    private final ProfessionalUserRepository professionalUserRepository;
+
+    private final ObjectWriter objectWriter;
+
+    @Autowired
+    public ExportServiceImpl(OrganisationRepository organisationRepository, AddressRepository addressRepository, PaymentAccountRepository paymentAccountRepository, ProfessionalUserRepository professionalUserRepository, ObjectMapper objectMapper) {
+        this.organisationRepository = organisationRepository;
+        this.addressRepository = addressRepository;
+        this.paymentAccountRepository = paymentAccountRepository;
+        this.professionalUserRepository = professionalUserRepository;
+        this.objectWriter = objectMapper.copy()
+                                        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                                        .writer();
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void export(OutputStream outputStream) throws IOException {
+        try (Stream<OrganisationExportRow> organisations = organisationRepository.streamAllForExport()) {
+            write("organisation", organisations, outputStream);
+        }
+        try (Stream<AddressExportRow> addresses = addressRepository.streamAllForExport()) {
+            write("address", addresses, outputStream);
+        }
+        try (Stream<PaymentAccountExportRow> paymentAccounts = paymentAccountRepository.streamAllForExport()) {
+            write("paymentAccount", paymentAccounts, outputStream);
+        }
+        try (Stream<ProfessionalUserExportRow> professionalUsers = professionalUserRepository.streamAllForExport()) {
+            write("professionalUser", professionalUsers, outputStream);
+        }
+        outputStream.flush();
+    }
+
+    private void write(String type, Stream<?> rows, OutputStream outputStream) throws IOException {
+        Iterator<?> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            outputStream.write(objectWriter.writeValueAsBytes(ExportRecord.builder().type(type).data(iterator.next()).build()));
+            outputStream.write(NEW_LINE);
+        }
+    }
+}
@@ -1,53 +1,223 @@
 package uk.gov.hmcts.reform.ref.pup.service.impl;
 
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
 import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
 import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-
-import javax.transaction.Transactional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class OrganisationServiceImpl implements OrganisationService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrganisationServiceImpl.class);
+
     private final OrganisationRepository organisationRepository;
 
+    private final AddressRepository addressRepository;
+
+    private final PaymentAccountRepository paymentAccountRepository;
+
+    private final ProfessionalUserRepository professionalUserRepository;
+
+    private final UserProfileViewUpdater userProfileViewUpdater;
+
+    private final ChangeEventService changeEventService;
+
+    private final int purgeChunkSize;
+
+    private final int purgeMaxChunks;
+
     @Autowired
-    public OrganisationServiceImpl(OrganisationRepository organisationRepository) {
+    public OrganisationServiceImpl(OrganisationRepository organisationRepository, AddressRepository addressRepository,
+                                   PaymentAccountRepository paymentAccountRepository, ProfessionalUserRepository professionalUserRepository,
+                                   UserProfileViewUpdater userProfileViewUpdater, ChangeEventService changeEventService,
+                                   @Value("${organisation-purge.chunk-size}") int purgeChunkSize,
+                                   @Value("${organisation-purge.max-chunks}") int purgeMaxChunks) {
         this.organisationRepository = organisationRepository;
+        this.addressRepository = addressRepository;
+        this.paymentAccountRepository = paymentAccountRepository;
+        this.professionalUserRepository = professionalUserRepository;
+        this.userProfileViewUpdater = userProfileViewUpdater;
+        this.changeEventService = changeEventService;
+        this.purgeChunkSize = purgeChunkSize;
+        this.purgeMaxChunks = purgeMaxChunks;
     }
 
+    /**
+     * Inserts the organisation without looking its name up first, the unique index on the names of the organisations
+     * not deleted rejects a duplicate, including one created concurrently. The failed insert leaves the transaction to be rolled back.
+     */
     @Override
+    @Transactional(rollbackFor = ApplicationException.class)
     public Organisation create(final OrganisationCreation organisationInput) throws ApplicationException {
-        Optional<Organisation> organisationByName = organisationRepository.findOneByName(organisationInput.getName());
-        if (organisationByName.isPresent()) {
-            throw new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_IN_USE);
+        Organisation parent = null;
+        if (organisationInput.getParentOrganisationId() != null) {
+            parent = organisationRepository.findById(organisationInput.getParentOrganisationId())
+                                           .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
         }
 
         Organisation organisation = new Organisation();
         organisation.setName(organisationInput.getName());
         organisation.setOrganisationType(organisationInput.getType());
+        organisation.setOrganisation(parent);
 
-        return organisationRepository.save(organisation);
+        // Flushed first, the closure rows reference the organisation row.
+        Organisation saved;
+        try {
+            saved = organisationRepository.saveAndFlush(organisation);
+        } catch (DataIntegrityViolationException e) {
+            throw new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_IN_USE);
+        }
+        organisationRepository.insertIntoHierarchy(saved.getUuid(), parent == null ? null : parent.getUuid());
+        changeEventService.record(ChangeEvent.of(ChangeEntityType.ORGANISATION, saved.getUuid(), ChangeType.CREATED, saved.getUuid()));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Organisation> retrieve(UUID uuid) throws ApplicationException {
         return organisationRepository.findById(uuid);
     }
 
+    /**
+     * Reads the organisation and its addresses straight into their DTOs, without loading the entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrganisationDto> retrieveDto(UUID uuid) throws ApplicationException {
+        return organisationRepository.findDtoByUuid(uuid)
+            .map(organisation -> organisation.withAddresses(addressRepository.findAllDtosByOrganisationUuid(uuid)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Organisation> retrieveWithAddresses(UUID uuid) throws ApplicationException {
+        return organisationRepository.findWithAddressesByUuid(uuid);
+    }
+
+    @Override
+    public Optional<Organisation> retrieveForChildChange(UUID uuid) throws ApplicationException {
+        return organisationRepository.findForChildChangeByUuid(uuid);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> retrieveVersion(UUID uuid) throws ApplicationException {
+        return organisationRepository.findVersionByUuid(uuid);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Organisation> retrieveDescendants(UUID uuid) throws ApplicationException {
+        return organisationRepository.findDescendantsByUuid(uuid);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Organisation> retrieveRootForProfessionalUser(String userId) throws ApplicationException {
+        return organisationRepository.findRootByProfessionalUserId(userId);
+    }
+
+    @Override
+    public Organisation moveUnder(UUID uuid, UUID parentUuid) throws ApplicationException {
+        Organisation organisation = organisationRepository.findById(uuid)
+                                                          .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
+
+        Organisation parent = null;
+        if (parentUuid != null) {
+            parent = organisationRepository.findById(parentUuid)
+                                           .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
+            // The organisation itself is at depth 0 of its own branch.
+            if (organisationRepository.isAncestorOf(uuid, parentUuid)) {
+                throw new ApplicationException(ApplicationErrorCode.INVALID_PARENT_ORGANISATION);
+            }
+        }
+
+        organisation.setOrganisation(parent);
+        Organisation saved = organisationRepository.saveAndFlush(organisation);
+        organisationRepository.moveInHierarchy(uuid, parentUuid);
+        changeEventService.record(ChangeEvent.of(ChangeEntityType.ORGANISATION, uuid, ChangeType.UPDATED, uuid));
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Organisation> search(String namePrefix, String afterName, int size) throws ApplicationException {
+        // Always the first page of the names after the cursor, so the cost does not grow with the position in the listing.
+        return organisationRepository.findByNameStartingWithAndNameGreaterThan(namePrefix, afterName, PageRequest.of(0, size, Sort.by("name")));
+    }
+
+    /**
+     * Soft deletes the organisation with its branches, their addresses, payment accounts and users.
+     */
     @Override
     public void delete(UUID uuid) throws ApplicationException {
-        organisationRepository.deleteById(uuid);
+        List<UUID> organisationUuids = organisationRepository.findUuidsInHierarchyOf(uuid);
+        if (organisationUuids.isEmpty()) {
+            return;
+        }
+
+        userProfileViewUpdater.invalidateHierarchy(uuid);
+        Instant deleted = Instant.now();
+        professionalUserRepository.softDeleteAllInHierarchyOf(uuid, deleted);
+        paymentAccountRepository.softDeleteAllInHierarchyOf(uuid, deleted);
+        addressRepository.softDeleteAllInHierarchyOf(uuid, deleted);
+        organisationRepository.softDeleteAllInHierarchyOf(uuid, deleted);
+        changeEventService.recordAll(organisationUuids.stream()
+            .map(organisationUuid -> ChangeEvent.of(ChangeEntityType.ORGANISATION, organisationUuid, ChangeType.DELETED, organisationUuid))
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Removes the soft deleted rows a chunk at a time, each statement in its own transaction, up to
+     * {@code organisation-purge.max-chunks} chunks per run.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(fixedDelayString = "${organisation-purge.interval-ms}")
+    public int purgeDeleted() {
+        int purged = 0;
+        int chunk;
+        int chunks = 0;
+        do {
+            chunk = organisationRepository.purgeDeleted(purgeChunkSize);
+            purged += chunk;
+        } while (chunk > 0 && ++chunks < purgeMaxChunks);
+
+        if (purged > 0) {
+            log.info("Purged {} deleted rows", purged);
+        }
+        return purged;
     }
 
 }
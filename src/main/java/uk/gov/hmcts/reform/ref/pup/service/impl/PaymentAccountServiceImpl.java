@@ -2,29 +2,46 @@ package uk.gov.hmcts.reform.ref.pup.service.impl;
 
 import uk.gov.hmcts.reform.ref.pup.domain.Address;
 import uk.gov.hmcts.reform.ref.pup.domain.Assignment;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignment;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignmentResult;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
 import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
 import uk.gov.hmcts.reform.ref.pup.repository.AssignmentRepository;
 import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
 import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
 import uk.gov.hmcts.reform.ref.pup.service.PaymentAccountService;
 import uk.gov.hmcts.reform.ref.pup.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-
-import javax.transaction.Transactional;
+import java.util.stream.StreamSupport;
 
 @Service
 @Transactional
@@ -40,19 +57,30 @@ public class PaymentAccountServiceImpl implements PaymentAccountService {
 
     private final ProfessionalUserService professionalUserService;
 
+    private final UserProfileViewUpdater userProfileViewUpdater;
+
+    private final ChangeEventService changeEventService;
+
     @Autowired
-    public PaymentAccountServiceImpl(PaymentAccountRepository paymentAccountRepository, AssignmentRepository assignmentRepository, AddressRepository addressRepository, OrganisationService organisationService, ProfessionalUserService professionalUserService) {
+    public PaymentAccountServiceImpl(PaymentAccountRepository paymentAccountRepository, AssignmentRepository assignmentRepository, AddressRepository addressRepository, OrganisationService organisationService, ProfessionalUserService professionalUserService, UserProfileViewUpdater userProfileViewUpdater, ChangeEventService changeEventService) {
         this.paymentAccountRepository = paymentAccountRepository;
         this.organisationService = organisationService;
         this.professionalUserService = professionalUserService;
         this.assignmentRepository = assignmentRepository;
         this.addressRepository = addressRepository;
+        this.userProfileViewUpdater = userProfileViewUpdater;
+        this.changeEventService = changeEventService;
     }
 
+    /**
+     * Inserts the payment account straight away, the unique index on the PBA numbers of the accounts not deleted rejects
+     * a duplicate. The failed insert leaves the transaction to be rolled back.
+     */
     @Override
+    @Transactional(rollbackFor = ApplicationException.class)
     public PaymentAccount create(PaymentAccountCreation paymentAccountInput) throws ApplicationException {
 
-        Organisation organisation = organisationService.retrieve(paymentAccountInput.getOrganisationId())
+        Organisation organisation = organisationService.retrieveForChildChange(paymentAccountInput.getOrganisationId())
                                                        .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
 
         PaymentAccount paymentAccount = new PaymentAccount();
@@ -61,21 +89,74 @@ public class PaymentAccountServiceImpl implements PaymentAccountService {
         paymentAccount.setPaymentAccountType(paymentAccountInput.getType());
         paymentAccount.setOrganisation(organisation);
 
-        return paymentAccountRepository.save(paymentAccount);
+        userProfileViewUpdater.invalidateOrganisation(organisation.getUuid());
+
+        PaymentAccount saved;
+        try {
+            saved = paymentAccountRepository.saveAndFlush(paymentAccount);
+        } catch (DataIntegrityViolationException e) {
+            throw new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_ID_IN_USE);
+        }
+        changeEventService.record(ChangeEvent.of(ChangeEntityType.PAYMENT_ACCOUNT, saved.getPbaNumber(), ChangeType.CREATED, organisation.getUuid()));
+        return saved;
 
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<PaymentAccount> retrieve(String pbaNumber) {
         return paymentAccountRepository.findByPbaNumber(pbaNumber);
     }
 
     @Override
-    public void delete(String pbaNumber) {
-        paymentAccountRepository.deleteByPbaNumber(pbaNumber);
+    @Transactional(readOnly = true)
+    public Optional<PaymentAccountDto> retrieveDto(String pbaNumber) {
+        return paymentAccountRepository.findDtoByPbaNumber(pbaNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentAccount> retrieveAll(Collection<String> pbaNumbers) {
+        if (pbaNumbers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return paymentAccountRepository.findAllByPbaNumberIn(pbaNumbers);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> retrieveVersion(String pbaNumber) {
+        return paymentAccountRepository.findVersionByPbaNumber(pbaNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentAccount> retrieveAllInHierarchyOf(UUID organisationUuid) {
+        return paymentAccountRepository.findAllInHierarchyOf(organisationUuid);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentAccountDto> retrieveAllDtosInHierarchyOf(UUID organisationUuid) {
+        return paymentAccountRepository.findAllDtosInHierarchyOf(organisationUuid);
+    }
+
+    @Override
+    public void delete(String pbaNumber) throws ApplicationException {
+        Optional<PaymentAccount> paymentAccount = paymentAccountRepository.findByPbaNumber(pbaNumber);
+        if (paymentAccount.isPresent()) {
+            organisationService.retrieveForChildChange(paymentAccount.get().getOrganisation().getUuid());
+            assignmentRepository.unassignAll(paymentAccount.get().getUuid());
+        }
+        userProfileViewUpdater.invalidatePaymentAccount(pbaNumber);
+        paymentAccountRepository.softDeleteByPbaNumber(pbaNumber, Instant.now());
+        if (paymentAccount.isPresent()) {
+            changeEventService.record(ChangeEvent.of(ChangeEntityType.PAYMENT_ACCOUNT, pbaNumber, ChangeType.DELETED, paymentAccount.get().getOrganisation().getUuid()));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<PaymentAccount> retrieveForUser(String userId) throws ApplicationException {
 
         ProfessionalUser professionalUser = professionalUserService.retrieve(userId)
@@ -88,47 +169,162 @@ public class PaymentAccountServiceImpl implements PaymentAccountService {
     }
 
     @Override
-    public void assign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException {
+    @Transactional(rollbackFor = ApplicationException.class)
+    public PaymentAccount assign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException {
 
         PaymentAccount paymentAccount = retrieve(pbaNumber)
                 .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_ID_DOES_NOT_EXIST));
 
-        ProfessionalUser professionalUser = professionalUserService.retrieve(paymentAccountAssignment.getUserId())
-                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.PROFESSIONAL_USER_ID_DOES_NOT_EXIST));
-
-        Address address = addressRepository.findById(UUID.fromString(paymentAccountAssignment.getAddressId()))
-                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ADDRESS_ID_DOES_NOT_EXIST));
+        String userId = paymentAccountAssignment.getUserId();
+        UUID addressUuid = toUuid(paymentAccountAssignment.getAddressId());
 
-        if (assignmentRepository.findOneByPaymentAccountAndAddressAndProfessionalUser(paymentAccount, address, professionalUser).isPresent()) {
+        int assigned;
+        try {
+            assigned = assignmentRepository.assign(paymentAccount.getUuid(), userId, addressUuid);
+        } catch (DataIntegrityViolationException e) {
+            // The same assignment inserted concurrently, the failed statement leaves the transaction to be rolled back.
             throw new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED);
         }
+        if (assigned == 0) {
+            throw assignmentFailure(userId, addressUuid, ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED);
+        }
+
+        changeEventService.record(assignmentChange(paymentAccount, userId, addressUuid, ChangeType.ASSIGNED));
+        userProfileViewUpdater.invalidateUser(userId);
+        return paymentAccount;
+    }
+
+    @Override
+    @Transactional(rollbackFor = ApplicationException.class)
+    public List<PaymentAccountAssignmentResult> assignAll(String pbaNumber, List<PaymentAccountAssignment> paymentAccountAssignments) throws ApplicationException {
+
+        PaymentAccount paymentAccount = retrieve(pbaNumber)
+                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_ID_DOES_NOT_EXIST));
+
+        Set<String> userIds = paymentAccountAssignments.stream()
+                .map(PaymentAccountAssignment::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, ProfessionalUser> professionalUsers = professionalUserService.retrieveAll(userIds).stream()
+                .collect(Collectors.toMap(ProfessionalUser::getUserId, Function.identity()));
+
+        Set<UUID> addressIds = paymentAccountAssignments.stream()
+                .map(paymentAccountAssignment -> toUuid(paymentAccountAssignment.getAddressId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<UUID, Address> addresses = StreamSupport.stream(addressRepository.findAllById(addressIds).spliterator(), false)
+                .collect(Collectors.toMap(Address::getUuid, Function.identity()));
+
+        Set<String> assigned = new HashSet<>();
+        if (!professionalUsers.isEmpty()) {
+            assignmentRepository.findAllByPaymentAccountAndProfessionalUserIn(paymentAccount, professionalUsers.values())
+                    .forEach(assignment -> assigned.add(assignmentKey(assignment.getProfessionalUser(), assignment.getAddress())));
+        }
 
-        Assignment assignment = new Assignment();
+        List<Assignment> assignments = new ArrayList<>();
+        List<PaymentAccountAssignmentResult> results = new ArrayList<>();
+
+        for (PaymentAccountAssignment paymentAccountAssignment : paymentAccountAssignments) {
+
+            ProfessionalUser professionalUser = professionalUsers.get(paymentAccountAssignment.getUserId());
+            Address address = addresses.get(toUuid(paymentAccountAssignment.getAddressId()));
+
+            ApplicationErrorCode errorCode = null;
+            if (professionalUser == null) {
+                errorCode = ApplicationErrorCode.PROFESSIONAL_USER_ID_DOES_NOT_EXIST;
+            } else if (address == null) {
+                errorCode = ApplicationErrorCode.ADDRESS_ID_DOES_NOT_EXIST;
+            } else if (!assigned.add(assignmentKey(professionalUser, address))) {
+                // Either already stored or repeated earlier in the same request.
+                errorCode = ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED;
+            } else {
+                Assignment assignment = new Assignment();
+
+                assignment.setAddress(address);
+                assignment.setPaymentAccount(paymentAccount);
+                assignment.setProfessionalUser(professionalUser);
+
+                assignments.add(assignment);
+            }
+
+            results.add(PaymentAccountAssignmentResult.builder()
+                    .userId(paymentAccountAssignment.getUserId())
+                    .addressId(paymentAccountAssignment.getAddressId())
+                    .assigned(errorCode == null)
+                    .errorCode(errorCode)
+                    .build());
+        }
 
-        assignment.setAddress(address);
-        assignment.setPaymentAccount(paymentAccount);
-        assignment.setProfessionalUser(professionalUser);
+        try {
+            assignmentRepository.insertAll(assignments);
+        } catch (DataIntegrityViolationException e) {
+            // One of the assignments inserted concurrently, the failed batch leaves the transaction to be rolled back.
+            throw new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED);
+        }
+        changeEventService.recordAll(assignments.stream()
+                .map(assignment -> assignmentChange(paymentAccount, assignment.getProfessionalUser().getUserId(), assignment.getAddress().getUuid(), ChangeType.ASSIGNED))
+                .collect(Collectors.toList()));
+
+        assignments.stream()
+                .map(assignment -> assignment.getProfessionalUser().getUserId())
+                .distinct()
+                .forEach(userProfileViewUpdater::invalidateUser);
 
-        assignmentRepository.save(assignment);
+        return results;
     }
 
     @Override
-    public void unassign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException {
+    public PaymentAccount unassign(String pbaNumber, PaymentAccountAssignment paymentAccountAssignment) throws ApplicationException {
 
         PaymentAccount paymentAccount = retrieve(pbaNumber)
                 .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_ID_DOES_NOT_EXIST));
 
-        ProfessionalUser professionalUser = professionalUserService.retrieve(paymentAccountAssignment.getUserId())
-                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.PROFESSIONAL_USER_ID_DOES_NOT_EXIST));
+        String userId = paymentAccountAssignment.getUserId();
+        UUID addressUuid = toUuid(paymentAccountAssignment.getAddressId());
 
-        Address address = addressRepository.findById(UUID.fromString(paymentAccountAssignment.getAddressId()))
-                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ADDRESS_ID_DOES_NOT_EXIST));
+        if (assignmentRepository.unassign(paymentAccount.getUuid(), userId, addressUuid) == 0) {
+            throw assignmentFailure(userId, addressUuid, ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_UNASSIGNED);
+        }
 
-        Assignment assignment = assignmentRepository.findOneByPaymentAccountAndAddressAndProfessionalUser(paymentAccount, address, professionalUser)
-                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_UNASSIGNED));
+        changeEventService.record(assignmentChange(paymentAccount, userId, addressUuid, ChangeType.UNASSIGNED));
+        userProfileViewUpdater.invalidateUser(userId);
+        return paymentAccount;
+    }
 
+    /**
+     * Tells why an assignment statement matched no row, only looked up once it has failed.
+     */
+    private ApplicationException assignmentFailure(String userId, UUID addressUuid, ApplicationErrorCode otherwise) throws ApplicationException {
+        if (!professionalUserService.retrieve(userId).isPresent()) {
+            return new ApplicationException(ApplicationErrorCode.PROFESSIONAL_USER_ID_DOES_NOT_EXIST);
+        }
+        if (addressUuid == null || !addressRepository.existsById(addressUuid)) {
+            return new ApplicationException(ApplicationErrorCode.ADDRESS_ID_DOES_NOT_EXIST);
+        }
+        return new ApplicationException(otherwise);
+    }
+
+    private static ChangeEvent assignmentChange(PaymentAccount paymentAccount, String userId, UUID addressUuid, ChangeType changeType) {
+        ChangeEvent changeEvent = ChangeEvent.of(ChangeEntityType.PAYMENT_ACCOUNT, paymentAccount.getPbaNumber(), changeType, paymentAccount.getOrganisation().getUuid());
+        changeEvent.setUserId(userId);
+        changeEvent.setAddressId(addressUuid);
+        return changeEvent;
+    }
 
-        assignmentRepository.delete(assignment);
+    private static String assignmentKey(ProfessionalUser professionalUser, Address address) {
+        return professionalUser.getUuid() + "/" + address.getUuid();
+    }
 
+    private static UUID toUuid(String addressId) {
+        if (addressId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(addressId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
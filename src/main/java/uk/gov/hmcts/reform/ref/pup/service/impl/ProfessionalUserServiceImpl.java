@@ -1,21 +1,39 @@
 package uk.gov.hmcts.reform.ref.pup.service.impl;
 
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
 import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
 import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
 import uk.gov.hmcts.reform.ref.pup.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-
-import javax.transaction.Transactional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,22 +44,87 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
 
     private final OrganisationService organisationService;
 
+    private final UserProfileViewUpdater userProfileViewUpdater;
+
+    private final ChangeEventService changeEventService;
+
     @Autowired
-    public ProfessionalUserServiceImpl(ProfessionalUserRepository professionalUserRepository, OrganisationService organisationService) {
+    public ProfessionalUserServiceImpl(ProfessionalUserRepository professionalUserRepository, OrganisationService organisationService, UserProfileViewUpdater userProfileViewUpdater, ChangeEventService changeEventService) {
         this.professionalUserRepository = professionalUserRepository;
         this.organisationService = organisationService;
+        this.userProfileViewUpdater = userProfileViewUpdater;
+        this.changeEventService = changeEventService;
     }
 
+    /**
+     * Inserts the user without looking its email up first, the unique indexes on the user ids and the emails of the
+     * users not deleted reject a duplicate, including one created concurrently. The failed insert leaves the transaction to be rolled back.
+     */
     @Override
+    @Transactional(rollbackFor = ApplicationException.class)
     public ProfessionalUser create(final ProfessionalUserCreation professionalUserInput) throws ApplicationException {
 
-        Optional<ProfessionalUser> professionalUsers = professionalUserRepository.findOneByEmail(professionalUserInput.getEmail());
-        if (professionalUsers.isPresent()) {
+        Organisation organisation = organisationService.retrieve(UUID.fromString(professionalUserInput.getOrganisationId()))
+                .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
+
+        ProfessionalUser professionalUser = newProfessionalUser(organisation, professionalUserInput);
+
+        userProfileViewUpdater.invalidateUser(professionalUser.getUserId());
+
+        ProfessionalUser saved = saveAndFlush(professionalUser);
+        changeEventService.record(professionalUserChange(saved, ChangeType.CREATED));
+        return saved;
+    }
+
+    @Override
+    @Transactional(rollbackFor = ApplicationException.class)
+    public List<ProfessionalUser> createAll(UUID organisationUuid, List<ProfessionalUserCreation> professionalUserInputs) throws ApplicationException {
+
+        // Repeated emails are caught before any insert, the ones already stored by the unique index.
+        List<String> emails = professionalUserInputs.stream()
+            .map(ProfessionalUserCreation::getEmail)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (new HashSet<>(emails).size() != emails.size()) {
             throw new ApplicationException(ApplicationErrorCode.PROFESSIONAL_USER_ID_IN_USE);
         }
-        Organisation organisation = organisationService.retrieve(UUID.fromString(professionalUserInput.getOrganisationId()))
+        Organisation organisation = organisationService.retrieve(organisationUuid)
                 .orElseThrow(() -> new ApplicationException(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
 
+        List<ProfessionalUser> professionalUsers = professionalUserInputs.stream()
+            .map(professionalUserInput -> newProfessionalUser(organisation, professionalUserInput))
+            .collect(Collectors.toList());
+
+        professionalUsers.forEach(professionalUser -> userProfileViewUpdater.invalidateUser(professionalUser.getUserId()));
+
+        // The inserts are sent as JDBC batches of hibernate.jdbc.batch_size when flushed.
+        try {
+            professionalUserRepository.saveAll(professionalUsers);
+            professionalUserRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ApplicationException(ApplicationErrorCode.PROFESSIONAL_USER_ID_IN_USE);
+        }
+        changeEventService.recordAll(professionalUsers.stream()
+            .map(professionalUser -> professionalUserChange(professionalUser, ChangeType.CREATED))
+            .collect(Collectors.toList()));
+        return professionalUsers;
+    }
+
+    private static ChangeEvent professionalUserChange(ProfessionalUser professionalUser, ChangeType changeType) {
+        ChangeEvent changeEvent = ChangeEvent.of(ChangeEntityType.PROFESSIONAL_USER, professionalUser.getUserId(), changeType, professionalUser.getOrganisation().getUuid());
+        changeEvent.setUserId(professionalUser.getUserId());
+        return changeEvent;
+    }
+
+    private ProfessionalUser saveAndFlush(ProfessionalUser professionalUser) throws ApplicationException {
+        try {
+            return professionalUserRepository.saveAndFlush(professionalUser);
+        } catch (DataIntegrityViolationException e) {
+            throw new ApplicationException(ApplicationErrorCode.PROFESSIONAL_USER_ID_IN_USE);
+        }
+    }
+
+    private ProfessionalUser newProfessionalUser(Organisation organisation, ProfessionalUserCreation professionalUserInput) {
         ProfessionalUser professionalUser = new ProfessionalUser();
         professionalUser.setEmail(professionalUserInput.getEmail());
         professionalUser.setFirstName(professionalUserInput.getFirstName());
@@ -49,18 +132,74 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
         professionalUser.setSurname(professionalUserInput.getSurname());
         professionalUser.setUserId(professionalUserInput.getUserId());
         professionalUser.setOrganisation(organisation);
-
-        return professionalUserRepository.save(professionalUser);
+        return professionalUser;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ProfessionalUser> retrieve(String userId) throws ApplicationException {
         return professionalUserRepository.findOneByUserId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProfessionalUserDto> retrieveDto(String userId) throws ApplicationException {
+        return professionalUserRepository.findDtoByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProfessionalUser> retrieveAll(Collection<String> userIds) throws ApplicationException {
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return professionalUserRepository.findAllByUserIdIn(userIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProfessionalUser> retrieveWithFullDetail(String userId) throws ApplicationException {
+        Optional<ProfessionalUser> professionalUser = professionalUserRepository.findWithFullDetailByUserId(userId);
+        if (professionalUser.isPresent()) {
+            // Initialises the addresses of the already loaded organisation, fetching both collections in a single
+            // join would multiply payment accounts by addresses.
+            organisationService.retrieveWithAddresses(professionalUser.get().getOrganisation().getUuid());
+        }
+        return professionalUser;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> retrieveVersion(String userId) throws ApplicationException {
+        return professionalUserRepository.findVersionByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProfessionalUser> search(UUID organisationUuid, String emailDomain, String afterUserId, int size) throws ApplicationException {
+        Pageable pageable = PageRequest.of(0, size, Sort.by("userId"));
+
+        if (organisationUuid != null && emailDomain != null) {
+            return professionalUserRepository.findByOrganisationUuidAndEmailDomainAndUserIdGreaterThan(organisationUuid, emailDomain.toLowerCase(Locale.ENGLISH), afterUserId, pageable);
+        }
+        if (organisationUuid != null) {
+            return professionalUserRepository.findByOrganisationUuidAndUserIdGreaterThan(organisationUuid, afterUserId, pageable);
+        }
+        if (emailDomain != null) {
+            return professionalUserRepository.findByEmailDomainAndUserIdGreaterThan(emailDomain.toLowerCase(Locale.ENGLISH), afterUserId, pageable);
+        }
+        return professionalUserRepository.findByUserIdGreaterThan(afterUserId, pageable);
+    }
+
     @Override
     public void delete(String userId) throws ApplicationException {
-        professionalUserRepository.deleteByUserId(userId);
+        Optional<UUID> organisationUuid = professionalUserRepository.findOrganisationUuidByUserId(userId);
+        if (organisationUuid.isPresent() && professionalUserRepository.softDeleteByUserId(userId, Instant.now()) > 0) {
+            ChangeEvent changeEvent = ChangeEvent.of(ChangeEntityType.PROFESSIONAL_USER, userId, ChangeType.DELETED, organisationUuid.get());
+            changeEvent.setUserId(userId);
+            changeEventService.record(changeEvent);
+        }
+        userProfileViewUpdater.invalidateUser(userId);
     }
 
 }
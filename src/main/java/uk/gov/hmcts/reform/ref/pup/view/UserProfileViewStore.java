@@ -0,0 +1,112 @@
+package uk.gov.hmcts.reform.ref.pup.view;
+
+import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserFullDetailConverter;
+import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.domain.UserProfileView;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserFullDetailDto;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.UserProfileViewRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Reads and writes the {@code user_profile_view} table, the denormalised copy of the full detail of each user.
+ */
+@Component
+public class UserProfileViewStore {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileViewStore.class);
+
+    private final UserProfileViewRepository userProfileViewRepository;
+
+    private final ProfessionalUserRepository professionalUserRepository;
+
+    private final OrganisationRepository organisationRepository;
+
+    private final ProfessionalUserFullDetailConverter professionalUserConverter;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public UserProfileViewStore(UserProfileViewRepository userProfileViewRepository, ProfessionalUserRepository professionalUserRepository,
+            OrganisationRepository organisationRepository, ProfessionalUserFullDetailConverter professionalUserConverter, ObjectMapper objectMapper) {
+        this.userProfileViewRepository = userProfileViewRepository;
+        this.professionalUserRepository = professionalUserRepository;
+        this.organisationRepository = organisationRepository;
+        this.professionalUserConverter = professionalUserConverter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the stored full detail with the versions of the row, which the document was built from.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProfessionalUserFullDetailDto> find(String userId) {
+        Optional<UserProfileView> userProfileView = userProfileViewRepository.findById(userId);
+        if (!userProfileView.isPresent()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(userProfileView.get().getDocument(), ProfessionalUserFullDetailDto.class).toBuilder()
+                .userVersion(userProfileView.get().getUserVersion())
+                .organisationVersion(userProfileView.get().getOrganisationVersion())
+                .build());
+        } catch (IOException e) {
+            log.warn("The profile view of user {} can not be read, it is rebuilt", userId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the full detail of the user read from the primary, in its own transaction as it runs after the write
+     * commits. A document built from later versions by a concurrent rebuild is kept.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rebuild(String userId) throws JsonProcessingException {
+        Optional<ProfessionalUser> retrieve = professionalUserRepository.findWithFullDetailByUserId(userId);
+        if (!retrieve.isPresent()) {
+            // Deleted, a document stored by a rebuild that read the user before is dropped.
+            userProfileViewRepository.deleteByUserIdIn(Collections.singletonList(userId));
+            return;
+        }
+        ProfessionalUser professionalUser = retrieve.get();
+        organisationRepository.findWithAddressesByUuid(professionalUser.getOrganisation().getUuid());
+
+        UserProfileView userProfileView = userProfileViewRepository.findForUpdateByUserId(userId).orElseGet(UserProfileView::new);
+        if (userProfileView.getUserVersion() > professionalUser.getVersion()
+                || userProfileView.getOrganisationVersion() > professionalUser.getOrganisation().getVersion()) {
+            return;
+        }
+        userProfileView.setUserId(userId);
+        userProfileView.setUserVersion(professionalUser.getVersion());
+        userProfileView.setOrganisationVersion(professionalUser.getOrganisation().getVersion());
+        userProfileView.setDocument(objectMapper.writeValueAsString(professionalUserConverter.apply(professionalUser)));
+
+        userProfileViewRepository.save(userProfileView);
+    }
+
+    /**
+     * Deletes the documents of the users in the current transaction.
+     */
+    public void invalidate(Collection<String> userIds) {
+        if (!userIds.isEmpty()) {
+            userProfileViewRepository.deleteByUserIdIn(userIds);
+        }
+    }
+
+}
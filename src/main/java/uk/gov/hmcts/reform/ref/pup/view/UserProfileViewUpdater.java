@@ -0,0 +1,156 @@
+package uk.gov.hmcts.reform.ref.pup.view;
+
+import uk.gov.hmcts.reform.ref.pup.cache.ProfessionalUserFullDetailCache;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.UserProfileViewRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the user profile view of the users affected by a write up to date. Their documents are deleted with the write
+ * and rebuilt on the user profile view executor once it commits, off the request thread. The documents still missing,
+ * such as those of the users loaded before the view existed, are stored by a periodic backfill.
+ */
+@Component
+public class UserProfileViewUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileViewUpdater.class);
+
+    private final ProfessionalUserRepository professionalUserRepository;
+
+    private final UserProfileViewRepository userProfileViewRepository;
+
+    private final UserProfileViewStore userProfileViewStore;
+
+    private final ProfessionalUserFullDetailCache professionalUserFullDetailCache;
+
+    private final TaskExecutor userProfileViewExecutor;
+
+    private final int backfillChunkSize;
+
+    private final int backfillMaxChunks;
+
+    @Autowired
+    public UserProfileViewUpdater(ProfessionalUserRepository professionalUserRepository, UserProfileViewRepository userProfileViewRepository,
+            UserProfileViewStore userProfileViewStore, ProfessionalUserFullDetailCache professionalUserFullDetailCache,
+            @Qualifier("userProfileViewExecutor") TaskExecutor userProfileViewExecutor,
+            @Value("${user-profile-view.backfill-chunk-size}") int backfillChunkSize,
+            @Value("${user-profile-view.backfill-max-chunks}") int backfillMaxChunks) {
+        this.professionalUserRepository = professionalUserRepository;
+        this.userProfileViewRepository = userProfileViewRepository;
+        this.userProfileViewStore = userProfileViewStore;
+        this.professionalUserFullDetailCache = professionalUserFullDetailCache;
+        this.userProfileViewExecutor = userProfileViewExecutor;
+        this.backfillChunkSize = backfillChunkSize;
+        this.backfillMaxChunks = backfillMaxChunks;
+    }
+
+    public void invalidateUser(String userId) {
+        if (userId != null) {
+            invalidate(Collections.singletonList(userId));
+        }
+    }
+
+    public void invalidateOrganisation(UUID organisationUuid) {
+        if (organisationUuid != null) {
+            invalidate(professionalUserRepository.findUserIdsByOrganisationUuid(organisationUuid));
+        }
+    }
+
+    public void invalidateHierarchy(UUID organisationUuid) {
+        if (organisationUuid != null) {
+            invalidate(professionalUserRepository.findUserIdsInHierarchyOf(organisationUuid));
+        }
+    }
+
+    public void invalidatePaymentAccount(String pbaNumber) {
+        if (pbaNumber != null) {
+            invalidate(professionalUserRepository.findUserIdsByPbaNumber(pbaNumber));
+        }
+    }
+
+    /**
+     * Stores the documents of the users that have none, a chunk at a time in user id order, up to
+     * {@code user-profile-view.backfill-max-chunks} chunks per run.
+     */
+    @Scheduled(initialDelayString = "${user-profile-view.backfill-interval-ms}", fixedDelayString = "${user-profile-view.backfill-interval-ms}")
+    public int backfill() {
+        int backfilled = 0;
+        int chunks = 0;
+        String lastUserId = "";
+        List<String> userIds;
+        do {
+            userIds = userProfileViewRepository.findUserIdsWithoutViewAfter(lastUserId, PageRequest.of(0, backfillChunkSize));
+            if (!userIds.isEmpty()) {
+                rebuild(userIds);
+                backfilled += userIds.size();
+                lastUserId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == backfillChunkSize && ++chunks < backfillMaxChunks);
+
+        if (backfilled > 0) {
+            log.info("Backfilled the profile views of {} users", backfilled);
+        }
+        return backfilled;
+    }
+
+    private void invalidate(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        userProfileViewStore.invalidate(userIds);
+        professionalUserFullDetailCache.evict(userIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    userProfileViewExecutor.execute(() -> rebuild(userIds));
+                }
+            });
+        } else {
+            userProfileViewExecutor.execute(() -> rebuild(userIds));
+        }
+    }
+
+    private void rebuild(Collection<String> userIds) {
+        for (String userId : userIds) {
+            try {
+                rebuildRetryingConcurrentInsert(userId);
+            } catch (DataAccessException | TransactionException | JsonProcessingException e) {
+                // Reads fall back to the tables until the backfill stores the document.
+                log.warn("The profile view of user {} could not be rebuilt", userId, e);
+            }
+        }
+    }
+
+    private void rebuildRetryingConcurrentInsert(String userId) throws JsonProcessingException {
+        try {
+            userProfileViewStore.rebuild(userId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent rebuild inserted the document first, it is now locked and compared instead.
+            userProfileViewStore.rebuild(userId);
+        }
+    }
+}
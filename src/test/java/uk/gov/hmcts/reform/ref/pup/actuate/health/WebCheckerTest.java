@@ -4,11 +4,15 @@ import uk.gov.hmcts.reform.ref.pup.actuate.health.model.HealthCheckResponse;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class WebCheckerTest {
@@ -23,6 +27,7 @@ public class WebCheckerTest {
     public void healthUp() {
         when(restTemplate.getForObject(HEALTH_URL,HealthCheckResponse.class)).thenReturn(new HealthCheckResponse("UP"));
         WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+        webChecker.refresh();
         Assert.assertEquals(Status.UP,webChecker.health().getStatus());
     }
 
@@ -30,6 +35,7 @@ public class WebCheckerTest {
     public void healthDown() {
         when(restTemplate.getForObject(HEALTH_URL,HealthCheckResponse.class)).thenReturn(new HealthCheckResponse("DOWN"));
         WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+        webChecker.refresh();
         Assert.assertEquals(Status.DOWN,webChecker.health().getStatus());
     }
 
@@ -37,6 +43,7 @@ public class WebCheckerTest {
     public void healthUknownDown() {
         when(restTemplate.getForObject(HEALTH_URL,HealthCheckResponse.class)).thenReturn(new HealthCheckResponse("UNKNOWN"));
         WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+        webChecker.refresh();
         Assert.assertEquals(Status.DOWN,webChecker.health().getStatus());
     }
 
@@ -44,7 +51,49 @@ public class WebCheckerTest {
     public void healthExceptionDown() {
         when(restTemplate.getForObject(HEALTH_URL,HealthCheckResponse.class)).thenThrow(new RestClientException("x"));
         WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+        webChecker.refresh();
         Assert.assertEquals(Status.DOWN,webChecker.health().getStatus());
     }
 
+    @Test
+    public void healthUnknownBeforeTheFirstRefresh() {
+        WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+        Assert.assertEquals(Status.UNKNOWN,webChecker.health().getStatus());
+        verifyZeroInteractions(restTemplate);
+    }
+
+    @Test
+    public void healthAnsweredFromTheLastRefresh() {
+        when(restTemplate.getForObject(HEALTH_URL,HealthCheckResponse.class)).thenReturn(new HealthCheckResponse("UP"));
+        WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+        webChecker.refresh();
+
+        webChecker.health();
+        webChecker.health();
+
+        verify(restTemplate, times(1)).getForObject(HEALTH_URL,HealthCheckResponse.class);
+    }
+
+    @Test
+    public void healthDetailsCountFailures() {
+        when(restTemplate.getForObject(HEALTH_URL,HealthCheckResponse.class))
+            .thenThrow(new RestClientException("x"))
+            .thenThrow(new RestClientException("x"))
+            .thenReturn(new HealthCheckResponse("UP"));
+        WebChecker webChecker = new WebChecker(NAME,URL,restTemplate);
+
+        webChecker.refresh();
+        webChecker.refresh();
+        Health health = webChecker.health();
+        Assert.assertEquals(2L,health.getDetails().get("consecutiveFailures"));
+        Assert.assertEquals(2L,health.getDetails().get("totalFailures"));
+        Assert.assertTrue(health.getDetails().containsKey("latencyMs"));
+
+        webChecker.refresh();
+        health = webChecker.health();
+        Assert.assertEquals(Status.UP,health.getStatus());
+        Assert.assertEquals(0L,health.getDetails().get("consecutiveFailures"));
+        Assert.assertEquals(2L,health.getDetails().get("totalFailures"));
+    }
+
 }
@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.ref.pup.batch;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class OrganisationFeedItemProcessorTest {
+
+    private final OrganisationFeedItemProcessor processor = new OrganisationFeedItemProcessor();
+
+    @Test
+    public void process_shouldStripTheByteOrderMarkAndWhitespace() {
+        OrganisationFeedItem item = createFeedItem("\uFEFFAPPLE PIE INC ", " pba0012345", " info@pie.co.uk ");
+
+        OrganisationFeedItem processed = processor.process(item);
+
+        assertThat(processed.getOrganisationName(), equalTo("APPLE PIE INC"));
+        assertThat(processed.getPbaNumber(), equalTo("PBA0012345"));
+        assertThat(processed.getEmail(), equalTo("info@pie.co.uk"));
+    }
+
+    @Test
+    public void process_shouldKeepRowsWithoutEmail() {
+        OrganisationFeedItem processed = processor.process(createFeedItem("DOG DOG LTD", "PBA12344", ""));
+
+        assertThat(processed.getEmail(), nullValue());
+    }
+
+    @Test
+    public void process_shouldFilterRowsWithoutOrganisationOrPbaNumber() {
+        assertThat(processor.process(createFeedItem(" ", "PBA12344", "info@dog.uk")), nullValue());
+        assertThat(processor.process(createFeedItem("DOG DOG LTD", null, "info@dog.uk")), nullValue());
+    }
+
+    private OrganisationFeedItem createFeedItem(String organisationName, String pbaNumber, String email) {
+        OrganisationFeedItem item = new OrganisationFeedItem();
+        item.setOrganisationName(organisationName);
+        item.setPbaNumber(pbaNumber);
+        item.setEmail(email);
+        return item;
+    }
+}
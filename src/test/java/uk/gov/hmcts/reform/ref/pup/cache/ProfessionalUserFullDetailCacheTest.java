@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.ref.pup.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ProfessionalUserFullDetailCacheTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(ProfessionalUserFullDetailCache.NAME);
+
+    private final ProfessionalUserFullDetailCache professionalUserFullDetailCache = new ProfessionalUserFullDetailCache(cacheManager);
+
+    private Cache cache;
+
+    @Before
+    public void setUp() {
+        cache = cacheManager.getCache(ProfessionalUserFullDetailCache.NAME);
+        cache.put("1", "first");
+        cache.put("2", "second");
+        cache.put("3", "third");
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void evict_shouldOnlyEvictTheGivenUsers() {
+        professionalUserFullDetailCache.evict(Arrays.asList("1", "2"));
+
+        assertThat(cache.get("1"), nullValue());
+        assertThat(cache.get("2"), nullValue());
+        assertThat(cache.get("3"), notNullValue());
+    }
+
+    @Test
+    public void evict_insideATransactionShouldWaitForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        professionalUserFullDetailCache.evict(Collections.singletonList("1"));
+
+        assertThat(cache.get("1"), notNullValue());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("1"), nullValue());
+    }
+}
@@ -0,0 +1,132 @@
+package uk.gov.hmcts.reform.ref.pup.component.batch;
+
+import uk.gov.hmcts.reform.ref.pup.config.BatchConfiguration;
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class OrganisationFeedJobTest {
+
+    private static final String FEED = "classpath:PBAdata.csv";
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private Job organisationFeedJob;
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @Autowired
+    private PaymentAccountRepository paymentAccountRepository;
+
+    @Autowired
+    private ProfessionalUserRepository professionalUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void run_shouldLoadTheFeedAndSkipDuplicatedPaymentAccounts() throws Exception {
+        JobExecution execution = run(FEED, 1L);
+
+        assertThat(execution.getStatus(), equalTo(BatchStatus.COMPLETED));
+        assertThat(organisationRepository.count(), equalTo(4L));
+        assertThat(paymentAccountRepository.count(), equalTo(4L));
+        assertThat(professionalUserRepository.count(), equalTo(0L));
+
+        Optional<PaymentAccount> paymentAccount = paymentAccountRepository.findByPbaNumber("PBA0012345");
+        assertTrue(paymentAccount.isPresent());
+        assertThat(paymentAccount.get().getOrganisation().getName(), equalTo("APPLE PIE INC"));
+    }
+
+    @Test
+    public void run_aSecondTimeShouldNotDuplicateAnything() throws Exception {
+        run(FEED, 1L);
+        JobExecution execution = run(FEED, 2L);
+
+        assertThat(execution.getStatus(), equalTo(BatchStatus.COMPLETED));
+        assertThat(organisationRepository.count(), equalTo(4L));
+        assertThat(paymentAccountRepository.count(), equalTo(4L));
+        assertThat(professionalUserRepository.count(), equalTo(0L));
+    }
+
+    @Test
+    public void run_shouldRecordTheRowsItInsertsInTheChangeFeed() throws Exception {
+        run(FEED, 1L);
+        run(FEED, 2L);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_event WHERE entity_type = 'ORGANISATION' AND change_type = 'CREATED'",
+            Integer.class), equalTo(4));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_event WHERE entity_type = 'PAYMENT_ACCOUNT' AND change_type = 'CREATED'",
+            Integer.class), equalTo(4));
+        assertThat(jdbcTemplate.queryForObject("SELECT organisation_id FROM change_event WHERE entity_id = 'PBA0012345'", String.class),
+            equalTo(paymentAccountRepository.findByPbaNumber("PBA0012345").get().getOrganisation().getUuid().toString()));
+    }
+
+    @Test
+    public void run_shouldRecreateADeletedOrganisation() throws Exception {
+        UUID deletedOrganisationUuid = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO organisation (uuid, name, version, deleted) VALUES (?, ?, 0, ?)",
+            deletedOrganisationUuid, "DOG DOG LTD", Timestamp.from(Instant.now()));
+
+        JobExecution execution = run(FEED, 1L);
+
+        assertThat(execution.getStatus(), equalTo(BatchStatus.COMPLETED));
+        assertThat(organisationRepository.count(), equalTo(4L));
+
+        Optional<PaymentAccount> paymentAccount = paymentAccountRepository.findByPbaNumber("PBA12344");
+        assertTrue(paymentAccount.isPresent());
+        assertThat(paymentAccount.get().getOrganisation().getUuid(), not(equalTo(deletedOrganisationUuid)));
+    }
+
+    @Test
+    public void run_shouldDeleteTheProfileViewsOfTheUsersOfTheOrganisationsItChanges() throws Exception {
+        UUID organisationUuid = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO organisation (uuid, name, version) VALUES (?, ?, 0)", organisationUuid, "APPLE PIE INC");
+        jdbcTemplate.update("INSERT INTO professional_user (uuid, user_id, first_name, surname, organisation_uuid, version) VALUES (?, ?, ?, ?, ?, 0)",
+            UUID.randomUUID(), "1", "Alexis", "GAYTE", organisationUuid);
+        jdbcTemplate.update("INSERT INTO user_profile_view (user_id, user_version, organisation_version, document) VALUES (?, 0, 0, ?)", "1", "{}");
+
+        run(FEED, 1L);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_profile_view", Integer.class), equalTo(0));
+    }
+
+    private JobExecution run(String feed, long run) throws Exception {
+        return jobLauncher.run(organisationFeedJob, new JobParametersBuilder()
+            .addString(BatchConfiguration.INPUT_FILE_PARAMETER, feed)
+            .addLong("run", run)
+            .toJobParameters());
+    }
+}
@@ -0,0 +1,127 @@
+package uk.gov.hmcts.reform.ref.pup.component.controller;
+
+import uk.gov.hmcts.reform.ref.pup.dto.BatchGetDto;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = MOCK)
+public class BatchGetControllerTest {
+
+    private static final int ENTITIES = 5;
+
+    @Autowired
+    protected WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() throws Exception {
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+
+        MvcResult result = mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+        String organisationId = JsonPath.parse(result.getResponse().getContentAsString()).read("uuid");
+
+        for (int i = 0; i < ENTITIES; i++) {
+            mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content("{\"pbaNumber\":\"pbaNumber" + i + "\", \"organisationId\":\"" + organisationId + "\"}"))
+                .andExpect(status().isOk());
+            mvc.perform(post("/pup/professional-users").with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content("{\"userId\":\"" + i + "\",\"email\":\"user" + i + "@gmail.com\", \"organisationId\":\"" + organisationId + "\"}"))
+                .andExpect(status().isOk());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void batchGetPaymentAccounts_shouldResolveAllTheKeysWithOneQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc.perform(post("/pup/payment-accounts:batchGet").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("[\"pbaNumber3\", \"pbaNumber0\", \"unknown\"]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("found.pbaNumber3.pbaNumber", is("pbaNumber3")))
+            .andExpect(jsonPath("found.pbaNumber0.pbaNumber", is("pbaNumber0")))
+            .andExpect(jsonPath("notFound[0]", is("unknown")))
+            .andDo(print());
+
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+    }
+
+    @Test
+    public void batchGetProfessionalUsers_shouldReturnTheFoundUsersAndTheMissingKeys() throws Exception {
+        mvc.perform(post("/pup/professional-users:batchGet").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("[\"1\", \"4\", \"42\"]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("found.1.email", is("user1@gmail.com")))
+            .andExpect(jsonPath("found.4.email", is("user4@gmail.com")))
+            .andExpect(jsonPath("notFound.length()", is(1)))
+            .andExpect(jsonPath("notFound[0]", is("42")))
+            .andDo(print());
+    }
+
+    @Test
+    public void batchGetProfessionalUsers_withTooManyKeysShouldReturnAnError() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i <= BatchGetDto.MAX_KEYS; i++) {
+            keys.add("\"" + i + "\"");
+        }
+
+        mvc.perform(post("/pup/professional-users:batchGet").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(keys.toString()))
+            .andExpect(status().isBadRequest())
+            .andDo(print());
+    }
+}
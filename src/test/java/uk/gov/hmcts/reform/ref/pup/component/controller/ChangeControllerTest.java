@@ -0,0 +1,152 @@
+package uk.gov.hmcts.reform.ref.pup.component.controller;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = MOCK)
+public class ChangeControllerTest {
+
+    @Autowired
+    protected WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mvc;
+
+    private String organisationId;
+
+    @Before
+    public void setUp() throws Exception {
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+
+        String content = mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        organisationId = JsonPath.parse(content).read("uuid");
+
+        mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"pbaNumber\":\"pbaNumber1\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isOk());
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void listChanges_shouldReturnTheChangesInTheOrderTheyWereMade() throws Exception {
+
+        mvc.perform(delete("/pup/payment-accounts/{pbaNumber}", "pbaNumber1").with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(get("/pup/changes").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("changes.length()", is(3)))
+            .andExpect(jsonPath("changes[0].entityType", is("ORGANISATION")))
+            .andExpect(jsonPath("changes[0].entityId", is(organisationId)))
+            .andExpect(jsonPath("changes[0].changeType", is("CREATED")))
+            .andExpect(jsonPath("changes[1].entityType", is("PAYMENT_ACCOUNT")))
+            .andExpect(jsonPath("changes[1].entityId", is("pbaNumber1")))
+            .andExpect(jsonPath("changes[1].organisationId", is(organisationId)))
+            .andExpect(jsonPath("changes[2].changeType", is("DELETED")))
+            .andDo(print());
+    }
+
+    @Test
+    public void listChanges_shouldContinueFromTheNextSequenceOfTheLastBatch() throws Exception {
+
+        String content = mvc.perform(get("/pup/changes").param("size", "1").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("changes.length()", is(1)))
+            .andExpect(jsonPath("changes[0].entityType", is("ORGANISATION")))
+            .andReturn().getResponse().getContentAsString();
+        Number next = JsonPath.parse(content).read("next");
+
+        content = mvc.perform(get("/pup/changes").param("since", next.toString()).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("changes.length()", is(1)))
+            .andExpect(jsonPath("changes[0].entityType", is("PAYMENT_ACCOUNT")))
+            .andReturn().getResponse().getContentAsString();
+        next = JsonPath.parse(content).read("next");
+
+        mvc.perform(get("/pup/changes").param("since", next.toString()).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("changes.length()", is(0)))
+            .andExpect(jsonPath("next", is(next)));
+    }
+
+    @Test
+    public void listChanges_shouldReturnTheChangesInTheOrderTheyWereCommitted() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.execute(status -> {
+                changeEventService.record(ChangeEvent.of(ChangeEntityType.ORGANISATION, "committed last", ChangeType.UPDATED, null));
+                try {
+                    executorService.submit(() -> transactionTemplate.execute(otherStatus -> {
+                        changeEventService.record(ChangeEvent.of(ChangeEntityType.ORGANISATION, "committed first", ChangeType.UPDATED, null));
+                        return null;
+                    })).get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+                return null;
+            });
+        } finally {
+            executorService.shutdown();
+        }
+
+        mvc.perform(get("/pup/changes").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("changes.length()", is(4)))
+            .andExpect(jsonPath("changes[2].entityId", is("committed first")))
+            .andExpect(jsonPath("changes[3].entityId", is("committed last")));
+    }
+
+}
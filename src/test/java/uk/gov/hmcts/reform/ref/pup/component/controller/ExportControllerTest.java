@@ -0,0 +1,141 @@
+package uk.gov.hmcts.reform.ref.pup.component.controller;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = MOCK)
+public class ExportControllerTest {
+
+    @Autowired
+    protected WebApplicationContext webApplicationContext;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockMvc mvc;
+
+    private String organisationId;
+
+    @Before
+    public void setUp() throws Exception {
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+
+        MvcResult result = mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        organisationId = JsonPath.parse(result.getResponse().getContentAsString()).read("uuid");
+
+        mvc.perform(post("/pup/organisations/{uuid}/addresses", organisationId).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"addressLine1\":\"address 1\"}"))
+            .andExpect(status().isOk());
+
+        mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"pbaNumber\":\"pbaNumber1010\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isOk());
+
+        mvc.perform(post("/pup/professional-users").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"userId\":\"1\",\"firstName\":\"Alexis\",\"surname\":\"GAYTE\",\"email\":\"alexis.gayte@gmail.com\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isOk());
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void export_shouldStreamOneGzippedJsonLinePerRow() throws Exception {
+
+        MvcResult result = mvc.perform(get("/pup/export").with(user("user")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        List<JsonNode> records = gunzipLines(result.getResponse().getContentAsByteArray());
+
+        Map<String, JsonNode> recordsByType = new HashMap<>();
+        for (JsonNode record : records) {
+            recordsByType.put(record.get("type").asText(), record.get("data"));
+        }
+
+        assertThat(records.size(), equalTo(4));
+        assertThat(recordsByType.get("organisation").get("name").asText(), equalTo("Solicitor Ltd"));
+        assertThat(recordsByType.get("address").get("organisationId").asText(), equalTo(organisationId));
+        assertThat(recordsByType.get("paymentAccount").get("pbaNumber").asText(), equalTo("pbaNumber1010"));
+        assertThat(recordsByType.get("professionalUser").get("userId").asText(), equalTo("1"));
+        assertThat(recordsByType.get("professionalUser").get("organisationId").asText(), equalTo(organisationId));
+    }
+
+    @Test
+    public void export_shouldStreamWithItsOwnTimeout() throws Exception {
+
+        MvcResult result = mvc.perform(get("/pup/export").with(user("user")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout(), equalTo(1800000L));
+    }
+
+    private List<JsonNode> gunzipLines(byte[] content) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(content)), StandardCharsets.UTF_8))) {
+            List<JsonNode> records = new ArrayList<>();
+            for (String line : reader.lines().collect(Collectors.toList())) {
+                records.add(objectMapper.readTree(line));
+            }
+            return records;
+        }
+    }
+}
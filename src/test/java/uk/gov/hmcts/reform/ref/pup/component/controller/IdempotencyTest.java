@@ -0,0 +1,165 @@
+package uk.gov.hmcts.reform.ref.pup.component.controller;
+
+import uk.gov.hmcts.reform.ref.pup.domain.IdempotencyRecord;
+import uk.gov.hmcts.reform.ref.pup.idempotency.IdempotencyFilter;
+import uk.gov.hmcts.reform.ref.pup.idempotency.IdempotencyRecordStore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = MOCK)
+public class IdempotencyTest {
+
+    @Autowired
+    protected WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private IdempotencyRecordStore idempotencyRecordStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).addFilter(idempotencyFilter).build();
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private ResultActions createOrganisation(String idempotencyKey, String userName, String name) throws Exception {
+        return mvc.perform(post("/pup/organisations").with(user(userName))
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content("{\"name\":\"" + name + "\"}"));
+    }
+
+    @Test
+    public void retry_withTheSameKeyShouldReplayTheFirstResponse() throws Exception {
+        String first = createOrganisation("key-1", "user", "Solicitor Ltd")
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+
+        String retry = createOrganisation("key-1", "user", "Solicitor Ltd")
+            .andExpect(status().isOk())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(JsonPath.parse(retry).read("uuid"), equalTo(JsonPath.parse(first).read("uuid")));
+    }
+
+    @Test
+    public void retry_withoutAKeyShouldRunTheRequestAgain() throws Exception {
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isOk());
+
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void retry_withTheSameKeyAndADifferentBodyShouldReturnUnprocessableEntity() throws Exception {
+        createOrganisation("key-1", "user", "Solicitor Ltd").andExpect(status().isOk());
+
+        createOrganisation("key-1", "user", "Other Solicitor Ltd").andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void request_withTheKeyOfAnotherCallerShouldBeProcessed() throws Exception {
+        createOrganisation("key-1", "user", "Solicitor Ltd").andExpect(status().isOk());
+
+        createOrganisation("key-1", "other", "Other Solicitor Ltd")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name", is("Other Solicitor Ltd")))
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void retry_ofARejectedRequestShouldReplayTheError() throws Exception {
+        createOrganisation("key-1", "user", "Solicitor Ltd").andExpect(status().isOk());
+        createOrganisation("key-2", "user", "Solicitor Ltd").andExpect(status().isBadRequest());
+
+        createOrganisation("key-2", "user", "Solicitor Ltd")
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+    }
+
+    @Test
+    public void retry_ofARequestThatFailedForAnotherReasonShouldRunItAgain() throws Exception {
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isUnsupportedMediaType());
+
+        assertThat(idempotencyRecordStore.find("user", "key-1").isPresent(), is(false));
+
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isUnsupportedMediaType())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void retries_takingOverTheSameExpiredReservationShouldOnlyLetOneThrough() throws Exception {
+        Instant expired = Instant.now().minus(Duration.ofMinutes(5));
+        jdbcTemplate.update("INSERT INTO idempotency_record (principal, idempotency_key, request_hash, created) VALUES (?, ?, ?, ?)",
+            "user", "key-1", "hash", Timestamp.from(expired));
+        // Both retries read the expired reservation before either takes it over.
+        Optional<IdempotencyRecord> existing = idempotencyRecordStore.find("user", "key-1");
+
+        assertThat(idempotencyRecordStore.reserve("user", "key-1", "hash", existing), is(true));
+        assertThat(idempotencyRecordStore.reserve("user", "key-1", "hash", existing), is(false));
+        assertThat(idempotencyRecordStore.find("user", "key-1").get().getCreated(), not(equalTo(existing.get().getCreated())));
+    }
+
+}
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.ref.pup.component.controller;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcMetricsFilter;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = MOCK)
+public class MetricsTest {
+
+    private static final String ORGANISATION_JSON = "{\"name\":\"Solicitor Ltd\"}";
+
+    @Autowired
+    protected WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+            .addFilters(webApplicationContext.getBean(WebMvcMetricsFilter.class))
+            .apply(springSecurity())
+            .build();
+    }
+
+    @Test
+    public void requests_shouldBeTimedPerRouteWithTheirErrorCode() throws Exception {
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(ORGANISATION_JSON))
+            .andExpect(status().isOk());
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(ORGANISATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        Timer success = meterRegistry.find("http.server.requests")
+            .tags("uri", "/pup/organisations", "outcome", "SUCCESSFUL", "errorCode", "none").timer();
+        Timer failure = meterRegistry.find("http.server.requests")
+            .tags("uri", "/pup/organisations", "outcome", "CLIENT_ERROR", "errorCode", "ORGANISATION_ID_IN_USE").timer();
+        assertThat(success.count(), equalTo(1L));
+        assertThat(failure.count(), equalTo(1L));
+
+        Timer adaptor = meterRegistry.find("pup.adaptor.calls")
+            .tags("adaptor", "OrganisationServiceAdaptor", "method", "create", "outcome", "ERROR", "errorCode", "ORGANISATION_ID_IN_USE").timer();
+        assertThat(adaptor.count(), equalTo(1L));
+
+        Timer repository = meterRegistry.find("pup.repository.calls")
+            .tags("repository", "OrganisationRepository", "method", "saveAndFlush", "outcome", "ERROR").timer();
+        assertThat(repository, notNullValue());
+        assertThat(repository.count(), equalTo(1L));
+    }
+
+    @Test
+    public void prometheus_shouldExposeTheLatencyHistograms() throws Exception {
+        mvc.perform(get("/pup/organisations").with(user("user")))
+            .andExpect(status().isOk());
+
+        mvc.perform(get("/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+            .andExpect(content().string(containsString("pup_adaptor_calls_seconds_bucket")))
+            .andExpect(content().string(containsString("pup_repository_calls_seconds_bucket")));
+    }
+}
@@ -20,8 +20,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -29,6 +32,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -75,6 +80,42 @@ public class OrganisationControllerTest {
         SecurityContextHolder.clearContext();
     }
 
+    @Test
+    public void listOrganisations_shouldPageThroughTheOrganisationsMatchingThePrefix() throws Exception {
+
+        for (String name : new String[] {"Solicitor Partners", "Barristers Chambers"}) {
+            mvc.perform(post("/pup/organisations").with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isOk());
+        }
+
+        MvcResult result = mvc.perform(get("/pup/organisations").param("namePrefix", "Solicitor").param("size", "1").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("content.length()", is(1)))
+            .andExpect(jsonPath("content[0].name", is("Solicitor Ltd")))
+            .andExpect(jsonPath("nextCursor", notNullValue()))
+            .andDo(print())
+            .andReturn();
+
+        String nextCursor = JsonPath.parse(result.getResponse().getContentAsString()).read("nextCursor");
+
+        mvc.perform(get("/pup/organisations").param("namePrefix", "Solicitor").param("size", "1").param("cursor", nextCursor).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("content.length()", is(1)))
+            .andExpect(jsonPath("content[0].name", is("Solicitor Partners")))
+            .andExpect(jsonPath("nextCursor").doesNotExist())
+            .andDo(print());
+    }
+
+    @Test
+    public void listOrganisations_withAnInvalidCursorShouldReturnAnError() throws Exception {
+
+        mvc.perform(get("/pup/organisations").param("cursor", "not a cursor").with(user("user")))
+            .andExpect(status().isBadRequest())
+            .andDo(print());
+    }
+
     @Test
     public void getOrganisation_forAOrganisationThatDoesnotExistShouldReturn404() throws Exception {
 
@@ -91,6 +132,33 @@ public class OrganisationControllerTest {
             .andDo(print());
     }
 
+    @Test
+    public void getOrganisation_withTheCurrentETagShouldReturnNotModifiedUntilAnAddressIsAdded() throws Exception {
+
+        String eTag = mvc.perform(get("/pup/organisations/{uuid}", organisationId).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andDo(print())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/pup/organisations/{uuid}", organisationId).with(user("user")).header("If-None-Match", eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""))
+            .andDo(print());
+
+        mvc.perform(post("/pup/organisations/{uuid}/addresses", organisationId).with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(firstTestAddressJson))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(eTag)))
+            .andDo(print());
+
+        mvc.perform(get("/pup/organisations/{uuid}", organisationId).with(user("user")).header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("addresses.length()", is(1)))
+            .andDo(print());
+    }
+
     @Test
     public void deleteOrganisation_forAOrganisationShouldReturnNoContentAndTheUserShouldNotBeRequestable() throws Exception {
 
@@ -103,6 +171,20 @@ public class OrganisationControllerTest {
             .andDo(print());
     }
 
+    @Test
+    public void deleteOrganisation_shouldLetItsNameBeReusedBeforeThePurge() throws Exception {
+
+        mvc.perform(delete("/pup/organisations/{uuid}", organisationId).with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"name\":\"Solicitor Ltd\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("uuid", not(organisationId)))
+            .andDo(print());
+    }
+
     @Test
     public void addOrganisationAddress_forAOrganisationShouldReturnOrganisationDetailWithTheAddress() throws Exception {
 
@@ -114,4 +196,45 @@ public class OrganisationControllerTest {
             .andDo(print());
     }
 
+    @Test
+    public void addOrganisationAddresses_forAOrganisationShouldReturnOrganisationDetailWithAllTheAddresses() throws Exception {
+
+        mvc.perform(post("/pup/organisations/{uuid}/addresses:batch", organisationId).with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content("[{\"addressLine1\":\"address 1\"},{\"addressLine1\":\"address 2\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("addresses.length()", is(2)))
+            .andDo(print());
+    }
+
+    @Test
+    public void addOrganisationProfessionalUsers_forAOrganisationShouldCreateAllTheUsers() throws Exception {
+
+        mvc.perform(post("/pup/organisations/{uuid}/professional-users:batch", organisationId).with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content("[{\"userId\":\"1\",\"email\":\"alexis.gayte@gmail.com\"},{\"userId\":\"2\",\"email\":\"someone.else@gmail.com\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(2)))
+            .andExpect(jsonPath("$[1].userId", is("2")))
+            .andDo(print());
+
+        mvc.perform(get("/pup/professional-users/{userId}", "2").with(user("user")))
+            .andExpect(status().isOk())
+            .andDo(print());
+    }
+
+    @Test
+    public void addOrganisationProfessionalUsers_withADuplicatedEmailShouldCreateNoUser() throws Exception {
+
+        mvc.perform(post("/pup/organisations/{uuid}/professional-users:batch", organisationId).with(user("user"))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content("[{\"userId\":\"1\",\"email\":\"alexis.gayte@gmail.com\"},{\"userId\":\"2\",\"email\":\"alexis.gayte@gmail.com\"}]"))
+            .andExpect(status().isBadRequest())
+            .andDo(print());
+
+        mvc.perform(get("/pup/professional-users/{userId}", "1").with(user("user")))
+            .andExpect(status().isNotFound())
+            .andDo(print());
+    }
+
 }
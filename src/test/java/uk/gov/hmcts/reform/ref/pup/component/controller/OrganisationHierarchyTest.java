@@ -0,0 +1,234 @@
+package uk.gov.hmcts.reform.ref.pup.component.controller;
+
+import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Builds a firm with a regional office and a local branch under it, the branch holding a payment account and a user.
+ */
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = MOCK)
+public class OrganisationHierarchyTest {
+
+    @Autowired
+    protected WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private OrganisationService organisationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mvc;
+
+    private String headOfficeId;
+
+    private String regionalOfficeId;
+
+    private String branchId;
+
+    @Before
+    public void setUp() throws Exception {
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+
+        headOfficeId = createOrganisation("{\"name\":\"Solicitor Ltd\"}");
+        regionalOfficeId = createOrganisation("{\"name\":\"Solicitor Ltd North\", \"parentOrganisationId\":\"" + headOfficeId + "\"}");
+        branchId = createOrganisation("{\"name\":\"Solicitor Ltd Leeds\", \"parentOrganisationId\":\"" + regionalOfficeId + "\"}");
+
+        mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"pbaNumber\":\"pbaNumber1\", \"organisationId\":\"" + branchId + "\"}"))
+            .andExpect(status().isOk());
+
+        mvc.perform(post("/pup/professional-users").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"userId\":\"1\",\"email\":\"user1@gmail.com\", \"organisationId\":\"" + branchId + "\"}"))
+            .andExpect(status().isOk());
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String createOrganisation(String json) throws Exception {
+        String content = mvc.perform(post("/pup/organisations").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(json))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        return JsonPath.parse(content).read("uuid");
+    }
+
+    @Test
+    public void getOrganisationDescendants_shouldReturnTheBranchesAtAnyDepthNearestFirst() throws Exception {
+
+        mvc.perform(get("/pup/organisations/{uuid}/descendants", headOfficeId).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("length()", is(2)))
+            .andExpect(jsonPath("[0].name", is("Solicitor Ltd North")))
+            .andExpect(jsonPath("[0].parentOrganisationId", is(headOfficeId)))
+            .andExpect(jsonPath("[1].name", is("Solicitor Ltd Leeds")))
+            .andDo(print());
+
+        mvc.perform(get("/pup/organisations/{uuid}/descendants", branchId).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("length()", is(0)));
+    }
+
+    @Test
+    public void getOrganisationPaymentAccounts_shouldReturnThePaymentAccountsOfTheBranches() throws Exception {
+
+        mvc.perform(get("/pup/organisations/{uuid}/payment-accounts", headOfficeId).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("length()", is(1)))
+            .andExpect(jsonPath("[0].pbaNumber", is("pbaNumber1")))
+            .andDo(print());
+    }
+
+    @Test
+    public void getRootOrganisation_shouldReturnTheHeadOfficeOfTheUser() throws Exception {
+
+        mvc.perform(get("/pup/professional-users/{userId}/root-organisation", "1").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("uuid", is(headOfficeId)))
+            .andExpect(jsonPath("name", is("Solicitor Ltd")))
+            .andDo(print());
+    }
+
+    @Test
+    public void moveOrganisation_shouldMoveTheWholeBranch() throws Exception {
+        String otherFirmId = createOrganisation("{\"name\":\"Other Firm Ltd\"}");
+
+        mvc.perform(put("/pup/organisations/{uuid}/parent", regionalOfficeId).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"parentOrganisationId\":\"" + otherFirmId + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("parentOrganisationId", is(otherFirmId)))
+            .andDo(print());
+
+        mvc.perform(get("/pup/organisations/{uuid}/descendants", headOfficeId).with(user("user")))
+            .andExpect(jsonPath("length()", is(0)));
+        mvc.perform(get("/pup/organisations/{uuid}/descendants", otherFirmId).with(user("user")))
+            .andExpect(jsonPath("length()", is(2)));
+        mvc.perform(get("/pup/organisations/{uuid}/payment-accounts", otherFirmId).with(user("user")))
+            .andExpect(jsonPath("[0].pbaNumber", is("pbaNumber1")));
+        mvc.perform(get("/pup/professional-users/{userId}/root-organisation", "1").with(user("user")))
+            .andExpect(jsonPath("uuid", is(otherFirmId)));
+    }
+
+    @Test
+    public void moveOrganisation_withoutParentShouldMakeItARoot() throws Exception {
+
+        mvc.perform(put("/pup/organisations/{uuid}/parent", regionalOfficeId).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("parentOrganisationId").doesNotExist());
+
+        mvc.perform(get("/pup/professional-users/{userId}/root-organisation", "1").with(user("user")))
+            .andExpect(jsonPath("uuid", is(regionalOfficeId)));
+    }
+
+    @Test
+    public void moveOrganisation_underOneOfItsBranchesShouldReturnAnError() throws Exception {
+
+        mvc.perform(put("/pup/organisations/{uuid}/parent", headOfficeId).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"parentOrganisationId\":\"" + branchId + "\"}"))
+            .andExpect(status().isBadRequest())
+            .andDo(print());
+
+        mvc.perform(get("/pup/organisations/{uuid}/descendants", headOfficeId).with(user("user")))
+            .andExpect(jsonPath("length()", is(2)));
+    }
+
+    @Test
+    public void deleteOrganisation_shouldHideTheWholeHierarchy() throws Exception {
+
+        mvc.perform(delete("/pup/organisations/{uuid}", headOfficeId).with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(get("/pup/organisations/{uuid}", branchId).with(user("user")))
+            .andExpect(status().isNotFound());
+        mvc.perform(get("/pup/payment-accounts/{pbaNumber}", "pbaNumber1").with(user("user")))
+            .andExpect(status().isNotFound());
+        mvc.perform(get("/pup/professional-users/{userId}", "1").with(user("user")))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void deleteOrganisation_ofABranchShouldKeepItsParent() throws Exception {
+
+        mvc.perform(delete("/pup/organisations/{uuid}", regionalOfficeId).with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(get("/pup/organisations/{uuid}/descendants", headOfficeId).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("length()", is(0)));
+        mvc.perform(get("/pup/organisations/{uuid}/payment-accounts", headOfficeId).with(user("user")))
+            .andExpect(jsonPath("length()", is(0)));
+    }
+
+    @Test
+    public void purgeDeleted_shouldRemoveTheRowsOfTheDeletedHierarchy() throws Exception {
+        String content = mvc.perform(post("/pup/organisations/{uuid}/addresses", branchId).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"addressLine1\":\"address 1\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String addressId = JsonPath.parse(content).read("addresses[0].uuid");
+        mvc.perform(post("/pup/payment-accounts/{pbaNumber}/assign", "pbaNumber1").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"userId\":\"1\", \"addressId\":\"" + addressId + "\"}"))
+            .andExpect(status().isOk());
+        String otherFirmId = createOrganisation("{\"name\":\"Other Firm Ltd\"}");
+
+        mvc.perform(delete("/pup/organisations/{uuid}", headOfficeId).with(user("user")))
+            .andExpect(status().isNoContent());
+
+        assertThat(organisationService.purgeDeleted(), equalTo(7));
+
+        for (String table : new String[] {"assignment", "address", "payment_account", "professional_user"}) {
+            assertThat(table, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class), equalTo(0));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM organisation", Integer.class), equalTo(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM organisation_closure WHERE descendant_uuid <> ?", Integer.class, otherFirmId),
+            equalTo(0));
+        assertThat(organisationService.purgeDeleted(), equalTo(0));
+    }
+
+}
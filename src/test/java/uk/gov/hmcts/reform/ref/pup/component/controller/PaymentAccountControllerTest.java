@@ -23,6 +23,7 @@ import com.jayway.jsonpath.JsonPath;
 
 import java.util.Collections;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -30,6 +31,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -48,6 +50,8 @@ public class PaymentAccountControllerTest {
 
     private String firstTestAssignmentJson;
 
+    private String organisationId;
+
     @Before
     public void setUp() throws Exception {
         mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
@@ -61,7 +65,7 @@ public class PaymentAccountControllerTest {
             .andReturn();
 
         String contentAsString = result.getResponse().getContentAsString();
-        final String organisationId = JsonPath.parse(contentAsString).read("uuid");
+        organisationId = JsonPath.parse(contentAsString).read("uuid");
 
         result = mvc.perform(post("/pup/organisations/{uuid}/addresses", organisationId).with(user("user"))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -127,6 +131,46 @@ public class PaymentAccountControllerTest {
             .andDo(print());
     }
 
+    @Test
+    public void deletePaymentAccount_shouldLetItsPbaNumberBeReusedBeforeThePurge() throws Exception {
+
+        mvc.perform(delete("/pup/payment-accounts/{uuid}", pbaNUmber).with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"pbaNumber\":\"" + pbaNUmber + "\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isOk())
+            .andDo(print());
+    }
+
+    @Test
+    public void createPaymentAccount_withAPbaNumberInUseShouldReturnAnError() throws Exception {
+
+        mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"pbaNumber\":\"" + pbaNUmber + "\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isBadRequest())
+            .andDo(print());
+    }
+
+    @Test
+    public void deletePaymentAccount_assignedToAUserShouldNotBeListedInTheUserPaymentAccounts() throws Exception {
+
+        mvc.perform(post("/pup/payment-accounts/{uuid}/assign", pbaNUmber).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(firstTestAssignmentJson))
+            .andExpect(status().isOk());
+
+        mvc.perform(delete("/pup/payment-accounts/{uuid}", pbaNUmber).with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(get("/pup/payment-accounts/mine").with(user(new ServiceAndUserDetails("1", "", Collections.emptyList(), "pui-webapp"))))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     public void assignPaymentAccounts_forPbaShouldReturnPaymentAccountDetail() throws Exception {
 
@@ -152,6 +196,35 @@ public class PaymentAccountControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void assignPaymentAccountsInBatch_shouldAssignTheValidEntriesAndReportTheOthers() throws Exception {
+
+        mvc.perform(post("/pup/payment-accounts/{uuid}/assignments:batch", pbaNUmber).with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("[" + firstTestAssignmentJson + ", " + firstTestAssignmentJson + ", {\"userId\":\"unknown\", \"addressId\":\"c6c561cd-8f68-474e-89d3-13fece9b66f8\"}]"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].assigned", is(true)))
+            .andExpect(jsonPath("$[1].assigned", is(false)))
+            .andExpect(jsonPath("$[1].errorCode", is("PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED")))
+            .andExpect(jsonPath("$[2].errorCode", is("PROFESSIONAL_USER_ID_DOES_NOT_EXIST")));
+
+        mvc.perform(get("/pup/payment-accounts/mine").with(user(new ServiceAndUserDetails("1", "", Collections.emptyList(), "pui-webapp"))))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].pbaNumber", is(pbaNUmber)));
+    }
+
+    @Test
+    public void assignPaymentAccountsInBatch_forAPaymentAccountThatDoesnotExistShouldReturnAnError() throws Exception {
+
+        mvc.perform(post("/pup/payment-accounts/{uuid}/assignments:batch", "unknown").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("[" + firstTestAssignmentJson + "]"))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void unassignPaymentAccounts_forAPaymentAccountAssignedShouldReturnPaymentAccountDetail() throws Exception {
 
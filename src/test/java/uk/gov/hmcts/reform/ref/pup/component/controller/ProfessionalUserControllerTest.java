@@ -19,6 +19,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import com.jayway.jsonpath.JsonPath;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -26,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -42,6 +44,8 @@ public class ProfessionalUserControllerTest {
 
     private String firstTestUserJson;
 
+    private String organisationId;
+
     @Before
     public void setUp() throws Exception {
         mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
@@ -54,7 +58,7 @@ public class ProfessionalUserControllerTest {
             .andReturn();
 
         String contentAsString = result.getResponse().getContentAsString();
-        final String organisationId = JsonPath.parse(contentAsString).read("uuid");
+        organisationId = JsonPath.parse(contentAsString).read("uuid");
 
 
         firstTestUserJson = "{\"userId\":\"1\",\"firstName\":\"Alexis\",\"surname\":\"GAYTE\",\"email\":\"alexis.gayte@gmail.com\",\"phoneNumber\":\"+447591715204\", \"organisationId\":\"" + organisationId + "\"}";
@@ -79,6 +83,29 @@ public class ProfessionalUserControllerTest {
             .andDo(print());
     }
 
+    @Test
+    public void listProfessionalUsers_shouldFilterByOrganisationAndEmailDomain() throws Exception {
+
+        mvc.perform(post("/pup/professional-users").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"userId\":\"2\",\"firstName\":\"Jane\",\"surname\":\"DOE\",\"email\":\"jane.doe@HMCTS.net\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isOk());
+
+        mvc.perform(get("/pup/professional-users").param("organisationId", organisationId).with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("content.length()", is(2)))
+            .andExpect(jsonPath("content[0].userId", is("1")))
+            .andExpect(jsonPath("content[1].userId", is("2")))
+            .andDo(print());
+
+        mvc.perform(get("/pup/professional-users").param("organisationId", organisationId).param("emailDomain", "hmcts.net").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("content.length()", is(1)))
+            .andExpect(jsonPath("content[0].userId", is("2")))
+            .andExpect(jsonPath("nextCursor").doesNotExist())
+            .andDo(print());
+    }
+
     @Test
     public void getProfessionalUser_forAUserShouldReturnUserDetail() throws Exception {
 
@@ -99,6 +126,23 @@ public class ProfessionalUserControllerTest {
             .andDo(print());
     }
 
+    @Test
+    public void deleteProfessionalUser_shouldLetItsUserIdAndEmailBeReusedBeforeThePurge() throws Exception {
+
+        mvc.perform(delete("/pup/professional-users/1").with(user("user")))
+            .andExpect(status().isNoContent());
+
+        mvc.perform(post("/pup/professional-users").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(firstTestUserJson))
+            .andExpect(status().isOk())
+            .andDo(print());
+
+        mvc.perform(get("/pup/professional-users/1").with(user("user")))
+            .andExpect(status().isOk())
+            .andDo(print());
+    }
+
     @Test
     public void createProfessionalUser_forAUserAlreadyExistantShouldReturn() throws Exception {
 
@@ -24,11 +24,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.Collections;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.MOCK;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -43,6 +48,8 @@ public class RootControllerTest {
 
     private MockMvc mvc;
 
+    private String organisationId;
+
     @Before
     public void setUp() throws Exception {
         mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
@@ -55,7 +62,7 @@ public class RootControllerTest {
 
         String contentAsString = result.getResponse().getContentAsString();
         Organisation contentFromOrganisation = new ObjectMapper().readValue(contentAsString, Organisation.class);
-        String organisationId = contentFromOrganisation.getUuid().toString();
+        organisationId = contentFromOrganisation.getUuid().toString();
 
         mvc.perform(post("/pup/organisations/{uuid}/addresses", organisationId).with(user("user"))
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
@@ -88,6 +95,39 @@ public class RootControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    public void myFullDetail_withTheCurrentETagShouldReturnNotModified() throws Exception {
+
+        String eTag = mvc.perform(get("/pup/mine").with(user(new ServiceAndUserDetails("1", "", Collections.emptyList(), "pui-webapp"))))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/pup/mine").with(user(new ServiceAndUserDetails("1", "", Collections.emptyList(), "pui-webapp")))
+                .header("If-None-Match", eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void myFullDetail_afterAChangeOfTheOrganisationShouldReturnTheNewDetailWithANewETag() throws Exception {
+
+        String eTag = mvc.perform(get("/pup/mine").with(user(new ServiceAndUserDetails("1", "", Collections.emptyList(), "pui-webapp"))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(post("/pup/payment-accounts").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"pbaNumber\":\"pbaNumber2020\", \"organisationId\":\"" + organisationId + "\"}"))
+            .andExpect(status().isOk());
+
+        mvc.perform(get("/pup/mine").with(user(new ServiceAndUserDetails("1", "", Collections.emptyList(), "pui-webapp")))
+                .header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(equalTo(eTag))))
+            .andExpect(jsonPath("$.paymentAccounts.length()", is(2)))
+            .andExpect(jsonPath("$.userVersion").doesNotExist());
+    }
+
     @Test
     public void myFullDetail_forAnInexistantUserShouldReturn404Error() throws Exception {
 
@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.ref.pup.component.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
+import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.service.AddressService;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BatchInsertTest {
+
+    private static final int ADDRESSES = 120;
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Organisation organisation;
+
+    @Before
+    public void setUp() {
+        organisation = new Organisation();
+        organisation.setName("Big Firm LLP");
+        organisationRepository.save(organisation);
+    }
+
+    @Test
+    public void createAll_shouldSendTheInsertsAsJdbcBatches() throws Exception {
+        List<AddressCreation> addressCreations = new ArrayList<>();
+        for (int i = 0; i < ADDRESSES; i++) {
+            AddressCreation addressCreation = new AddressCreation();
+            addressCreation.setAddressLine1("address " + i);
+            addressCreations.add(addressCreation);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        addressService.createAll(organisation.getUuid(), addressCreations);
+
+        assertThat(statistics.getEntityInsertCount(), equalTo((long) ADDRESSES));
+        // One select of the organisation and one statement per batch of hibernate.jdbc.batch_size inserts.
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(5L));
+        assertThat(addressRepository.count(), equalTo((long) ADDRESSES));
+    }
+}
@@ -0,0 +1,191 @@
+package uk.gov.hmcts.reform.ref.pup.component.repository;
+
+import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.AddressServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.OrganisationServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserServiceAdaptor;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Creates the same organisation and the same user from several threads at once: a single creation succeeds and the
+ * others are rejected with the usual error code by the unique constraints.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ConcurrentCreationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OrganisationServiceAdaptor organisationService;
+
+    @Autowired
+    private ProfessionalUserServiceAdaptor professionalUserService;
+
+    @Autowired
+    private AddressServiceAdaptor addressService;
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @Autowired
+    private ProfessionalUserRepository professionalUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executorService.shutdownNow();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private OrganisationCreation organisationCreation(String name) {
+        OrganisationCreation organisationCreation = new OrganisationCreation();
+        organisationCreation.setName(name);
+        return organisationCreation;
+    }
+
+    private ProfessionalUserCreation professionalUserCreation(String userId, UUID organisationUuid) {
+        ProfessionalUserCreation professionalUserCreation = new ProfessionalUserCreation();
+        professionalUserCreation.setUserId(userId);
+        professionalUserCreation.setEmail("alexis.gayte@gmail.com");
+        professionalUserCreation.setFirstName("Alexis");
+        professionalUserCreation.setSurname("GAYTE");
+        professionalUserCreation.setOrganisationId(organisationUuid.toString());
+        return professionalUserCreation;
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    /**
+     * Runs the creation from every thread at the same time and returns how many succeeded, failing on any error but
+     * the expected one.
+     */
+    private int createConcurrently(Callable<?> creation, ApplicationErrorCode expectedErrorCode) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return creation.call();
+            }));
+        }
+
+        int created = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(ApplicationException.class));
+                assertThat(((ApplicationException) e.getCause()).getApplicationErrorCode(), equalTo(expectedErrorCode));
+            }
+        }
+        return created;
+    }
+
+    @Test
+    public void create_organisationsWithTheSameNameAtOnceShouldOnlyCreateOne() throws Exception {
+        int created = createConcurrently(() -> organisationService.create(organisationCreation("Solicitor Ltd")),
+            ApplicationErrorCode.ORGANISATION_ID_IN_USE);
+
+        assertThat(created, equalTo(1));
+        assertThat(organisationRepository.count(), equalTo(1L));
+    }
+
+    @Test
+    public void create_usersWithTheSameEmailAtOnceShouldOnlyCreateOne() throws Exception {
+        UUID organisationUuid = organisationService.create(organisationCreation("Solicitor Ltd")).getUuid();
+
+        int created = createConcurrently(() -> professionalUserService.create(professionalUserCreation(UUID.randomUUID().toString(), organisationUuid)),
+            ApplicationErrorCode.PROFESSIONAL_USER_ID_IN_USE);
+
+        assertThat(created, equalTo(1));
+        assertThat(professionalUserRepository.count(), equalTo(1L));
+    }
+
+    @Test
+    public void create_addressesOfTheSameOrganisationAtOnceShouldCreateThemAll() throws Exception {
+        UUID organisationUuid = organisationService.create(organisationCreation("Solicitor Ltd")).getUuid();
+
+        int created = createConcurrently(() -> {
+            AddressCreation addressCreation = new AddressCreation();
+            addressCreation.setAddressLine1("1 High Street");
+            return addressService.create(organisationUuid, addressCreation);
+        }, null);
+
+        assertThat(created, equalTo(THREADS));
+        assertThat(organisationRepository.findVersionByUuid(organisationUuid).get(), equalTo((long) THREADS));
+    }
+
+    @Test
+    public void create_anOrganisationShouldOnlyRunItsInsert() throws Exception {
+        Statistics statistics = clearedStatistics();
+
+        organisationService.create(organisationCreation("Solicitor Ltd"));
+
+        // The hierarchy and the change feed rows are written with plain JDBC and not counted here.
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    public void create_aUserShouldNotLookItsEmailUp() throws Exception {
+        UUID organisationUuid = organisationService.create(organisationCreation("Solicitor Ltd")).getUuid();
+        Statistics statistics = clearedStatistics();
+
+        professionalUserService.create(professionalUserCreation("1", organisationUuid));
+
+        // The organisation, the invalidation of the stored profile and the insert.
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(3L));
+    }
+
+}
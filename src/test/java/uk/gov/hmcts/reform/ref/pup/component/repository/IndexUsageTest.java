@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.ref.pup.component.repository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks with EXPLAIN that the repository lookups are served by the indexes of the Liquibase changelog.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class IndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void findAllByProfessionalUser_shouldUseTheAssignmentIndex() {
+        assertThat(explain("SELECT * FROM assignment WHERE professional_user_uuid = ?", UUID.randomUUID()),
+            containsString("idx_assignment_user_account_address"));
+    }
+
+    @Test
+    public void assignAndUnassign_shouldUseTheCompositeIndex() {
+        assertThat(explain("SELECT * FROM assignment WHERE payment_account_uuid = ? AND address_uuid = ? AND professional_user_uuid = ?",
+                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()),
+            containsString("idx_assignment_user_account_address"));
+    }
+
+    @Test
+    public void findOneByEmail_shouldUseTheEmailIndex() {
+        assertThat(explain("SELECT * FROM professional_user WHERE email = ?", "alexis.gayte@gmail.com"),
+            containsString("idx_professional_user_email"));
+    }
+
+    @Test
+    public void organisationAddresses_shouldUseTheAddressOrganisationIndex() {
+        assertThat(explain("SELECT * FROM address WHERE organisation_uuid = ?", UUID.randomUUID()),
+            containsString("idx_address_organisation"));
+    }
+
+    @Test
+    public void organisationPaymentAccounts_shouldUseThePaymentAccountOrganisationIndex() {
+        assertThat(explain("SELECT * FROM payment_account WHERE organisation_uuid = ?", UUID.randomUUID()),
+            containsString("idx_payment_account_organisation"));
+    }
+
+    @Test
+    public void organisationProfessionalUsers_shouldUseTheProfessionalUserOrganisationIndex() {
+        assertThat(explain("SELECT * FROM professional_user WHERE organisation_uuid = ?", UUID.randomUUID()),
+            containsString("idx_professional_user_organisation_user_id"));
+    }
+
+    @Test
+    public void professionalUsersByEmailDomain_shouldUseTheEmailDomainIndex() {
+        assertThat(explain("SELECT * FROM professional_user WHERE email_domain = ? AND user_id > ? ORDER BY user_id", "hmcts.net", ""),
+            containsString("idx_professional_user_email_domain_user_id"));
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                // The test tables are tiny, without this the planner always prefers a sequential scan.
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET enable_seqscan = off");
+                }
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            }
+            return plan.toString().toLowerCase();
+        });
+    }
+}
@@ -0,0 +1,240 @@
+package uk.gov.hmcts.reform.ref.pup.component.repository;
+
+import uk.gov.hmcts.reform.ref.pup.cache.ProfessionalUserFullDetailCache;
+import uk.gov.hmcts.reform.ref.pup.converter.ProfessionalUserFullDetailConverter;
+import uk.gov.hmcts.reform.ref.pup.domain.Address;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserFullDetailDto;
+import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.PaymentAccountServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserFullDetailServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ProfessionalUserFullDetailQueryTest {
+
+    private static final int ADDRESSES = 5;
+    private static final int PAYMENT_ACCOUNTS = 7;
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private PaymentAccountRepository paymentAccountRepository;
+
+    @Autowired
+    private ProfessionalUserRepository professionalUserRepository;
+
+    @Autowired
+    private ProfessionalUserFullDetailServiceAdaptor professionalUserFullDetailService;
+
+    @Autowired
+    private ProfessionalUserService professionalUserService;
+
+    @Autowired
+    private ProfessionalUserFullDetailConverter professionalUserFullDetailConverter;
+
+    @Autowired
+    private PaymentAccountServiceAdaptor paymentAccountService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ThreadPoolTaskExecutor userProfileViewExecutor;
+
+    @Autowired
+    private UserProfileViewUpdater userProfileViewUpdater;
+
+    private Organisation organisation;
+
+    @Before
+    public void setUp() {
+        organisation = new Organisation();
+        organisation.setName("Big Firm LLP");
+        organisationRepository.save(organisation);
+
+        for (int i = 0; i < ADDRESSES; i++) {
+            Address address = new Address();
+            address.setAddressLine1("address " + i);
+            address.setOrganisation(organisation);
+            addressRepository.save(address);
+        }
+
+        for (int i = 0; i < PAYMENT_ACCOUNTS; i++) {
+            PaymentAccount paymentAccount = new PaymentAccount();
+            paymentAccount.setPbaNumber("PBA000000" + i);
+            paymentAccount.setOrganisation(organisation);
+            paymentAccountRepository.save(paymentAccount);
+        }
+
+        ProfessionalUser professionalUser = new ProfessionalUser();
+        professionalUser.setUserId("1");
+        professionalUser.setFirstName("alexis");
+        professionalUser.setSurname("gayte");
+        professionalUser.setEmail("alexis.gayte@gmail.com");
+        professionalUser.setOrganisation(organisation);
+        professionalUserRepository.save(professionalUser);
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+        statistics.clear();
+        return statistics;
+    }
+
+    private ProfessionalUserFullDetailDto retrieveUncached() throws Exception {
+        cacheManager.getCache(ProfessionalUserFullDetailCache.NAME).clear();
+        return professionalUserFullDetailService.retrieve("1").get();
+    }
+
+    private void createPaymentAccount(String pbaNumber) throws Exception {
+        PaymentAccountCreation paymentAccountCreation = new PaymentAccountCreation();
+        paymentAccountCreation.setPbaNumber(pbaNumber);
+        paymentAccountCreation.setOrganisationId(organisation.getUuid());
+        paymentAccountService.create(paymentAccountCreation);
+    }
+
+    private void awaitRebuilds() throws InterruptedException {
+        ThreadPoolExecutor executor = userProfileViewExecutor.getThreadPoolExecutor();
+        while (executor.getCompletedTaskCount() < executor.getTaskCount()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private int storedViews() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_profile_view", Integer.class);
+    }
+
+    @Test
+    public void retrieve_shouldLoadTheFullDetailWithoutOneQueryPerCollection() throws Exception {
+        Statistics statistics = clearedStatistics();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        ProfessionalUserFullDetailDto fullDetail = transactionTemplate.execute(status ->
+            professionalUserFullDetailConverter.apply(professionalUserService.retrieveWithFullDetail("1").get()));
+
+        assertThat(fullDetail.getPaymentAccounts().size(), equalTo(PAYMENT_ACCOUNTS));
+        assertThat(fullDetail.getOrganisation().getAddresses().size(), equalTo(ADDRESSES));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(2L));
+    }
+
+    @Test
+    public void retrieve_ofAUserOfANestedBranchShouldNotLoadItsAncestors() throws Exception {
+        Organisation branch = new Organisation();
+        branch.setName("Big Firm LLP Leeds");
+        branch.setOrganisation(organisation);
+        organisationRepository.save(branch);
+
+        Organisation nestedBranch = new Organisation();
+        nestedBranch.setName("Big Firm LLP Leeds North");
+        nestedBranch.setOrganisation(branch);
+        organisationRepository.save(nestedBranch);
+
+        ProfessionalUser professionalUser = new ProfessionalUser();
+        professionalUser.setUserId("2");
+        professionalUser.setFirstName("jane");
+        professionalUser.setSurname("doe");
+        professionalUser.setEmail("jane.doe@bigfirm.co.uk");
+        professionalUser.setOrganisation(nestedBranch);
+        professionalUserRepository.save(professionalUser);
+
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityRegion(Organisation.class);
+        Statistics statistics = clearedStatistics();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        ProfessionalUserFullDetailDto fullDetail = transactionTemplate.execute(status ->
+            professionalUserFullDetailConverter.apply(professionalUserService.retrieveWithFullDetail("2").get()));
+
+        assertThat(fullDetail.getOrganisation().getParentOrganisationId(), equalTo(branch.getUuid()));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(2L));
+    }
+
+    @Test
+    public void retrieve_shouldServeTheStoredViewWithASingleQuery() throws Exception {
+        createPaymentAccount("PBA0000099");
+        awaitRebuilds();
+        assertThat(storedViews(), equalTo(1));
+
+        Statistics statistics = clearedStatistics();
+        ProfessionalUserFullDetailDto fullDetail = retrieveUncached();
+
+        assertThat(fullDetail.getUserId(), equalTo("1"));
+        assertThat(fullDetail.getPaymentAccounts().size(), equalTo(PAYMENT_ACCOUNTS + 1));
+        assertThat(fullDetail.getOrganisation().getAddresses().size(), equalTo(ADDRESSES));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    public void retrieve_shouldServeTheViewRebuiltAfterEachWrite() throws Exception {
+        createPaymentAccount("PBA0000099");
+        createPaymentAccount("PBA0000098");
+        awaitRebuilds();
+
+        assertThat(storedViews(), equalTo(1));
+        assertThat(retrieveUncached().getPaymentAccounts().size(), equalTo(PAYMENT_ACCOUNTS + 2));
+    }
+
+    @Test
+    public void backfill_shouldStoreTheViewOfAUserThatHasNone() throws Exception {
+        assertThat(storedViews(), equalTo(0));
+
+        assertThat(userProfileViewUpdater.backfill(), equalTo(1));
+
+        assertThat(storedViews(), equalTo(1));
+        Statistics statistics = clearedStatistics();
+        assertThat(retrieveUncached().getPaymentAccounts().size(), equalTo(PAYMENT_ACCOUNTS));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(userProfileViewUpdater.backfill(), equalTo(0));
+    }
+}
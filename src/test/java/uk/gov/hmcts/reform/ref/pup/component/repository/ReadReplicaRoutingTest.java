@@ -0,0 +1,192 @@
+package uk.gov.hmcts.reform.ref.pup.component.repository;
+
+import uk.gov.hmcts.reform.ref.pup.actuate.health.ReadReplicasHealth;
+import uk.gov.hmcts.reform.ref.pup.cache.ProfessionalUserFullDetailCache;
+import uk.gov.hmcts.reform.ref.pup.datasource.ReadReplicaRoutingDataSource;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.OrganisationServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserFullDetailServiceAdaptor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+
+import java.sql.Connection;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs against a second in-memory database standing for the replica, whose rows are inserted by hand.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK, properties = {
+    "toggle.readreplicas=true",
+    "read-replicas.urls=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+    "read-replicas.lag-query=SELECT lag_ms FROM replication_lag",
+    "read-replicas.max-lag-ms=1000"
+})
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicasHealth readReplicasHealth;
+
+    @Autowired
+    private OrganisationServiceAdaptor organisationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @Autowired
+    private ProfessionalUserFullDetailServiceAdaptor professionalUserFullDetailService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        routingDataSource = dataSource.unwrap(ReadReplicaRoutingDataSource.class);
+        DataSource replicaDataSource = routingDataSource.getReplicas().get(0).getDataSource();
+        try (Connection connection = replicaDataSource.getConnection()) {
+            new Liquibase("db/changelog/db.changelog-master.yaml", new ClassLoaderResourceAccessor(), new JdbcConnection(connection))
+                .update(new Contexts());
+        }
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        replicaJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replication_lag (lag_ms BIGINT)");
+        replicaJdbcTemplate.execute("DELETE FROM replication_lag");
+        replicaJdbcTemplate.execute("INSERT INTO replication_lag VALUES (0)");
+
+        readReplicasHealth.refresh();
+        // The application started on this thread, as a request would its reads go to the replica once it is over.
+        routingDataSource.clearPrimaryPin();
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private UUID createOrganisation() throws Exception {
+        OrganisationCreation organisationCreation = new OrganisationCreation();
+        organisationCreation.setName("Solicitor Ltd " + UUID.randomUUID());
+        return organisationService.create(organisationCreation).getUuid();
+    }
+
+    @Test
+    public void readOnlyTransactions_shouldBeServedByTheReplica() {
+        assertThat(databaseName(true), equalTo("REPLICA"));
+        assertThat(meterRegistry.get("pup.datasource.connections").tag("pool", "replica-1").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void readWriteTransactions_shouldBeServedByThePrimary() {
+        assertThat(databaseName(false), equalTo("TEST_MEM"));
+    }
+
+    @Test
+    public void serviceReads_shouldBeServedByTheReplicaOnceTheRowIsReplicated() throws Exception {
+        UUID organisationUuid = createOrganisation();
+        routingDataSource.clearPrimaryPin();
+
+        assertThat(organisationService.retrieveETag(organisationUuid), equalTo(Optional.empty()));
+
+        replicaJdbcTemplate.update("INSERT INTO organisation (uuid, name, version) VALUES (?, ?, 3)", organisationUuid, "Solicitor Ltd");
+
+        assertThat(organisationService.retrieveETag(organisationUuid), equalTo(Optional.of("3")));
+    }
+
+    @Test
+    public void serviceReads_afterAWriteOnTheSameThreadShouldBeServedByThePrimary() throws Exception {
+        UUID organisationUuid = createOrganisation();
+
+        assertThat(organisationService.retrieveETag(organisationUuid), equalTo(Optional.of("0")));
+    }
+
+    @Test
+    public void serviceReads_servedByALaggingReplicaShouldNotBePutInTheSecondLevelCache() throws Exception {
+        UUID organisationUuid = createOrganisation();
+        replicaJdbcTemplate.update("INSERT INTO organisation (uuid, name, version) VALUES (?, ?, 0)", organisationUuid, "Previous name");
+        entityManagerFactory.getCache().evictAll();
+        routingDataSource.clearPrimaryPin();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Optional<Organisation> organisation = transactionTemplate.execute(status -> organisationRepository.findById(organisationUuid));
+
+        assertThat(organisation.map(Organisation::getName), equalTo(Optional.of("Previous name")));
+        assertFalse(entityManagerFactory.getCache().contains(Organisation.class, organisationUuid));
+    }
+
+    @Test
+    public void serviceReads_servedByALaggingReplicaShouldNotBePutInTheFullDetailCache() throws Exception {
+        UUID organisationUuid = createOrganisation();
+        replicaJdbcTemplate.update("INSERT INTO organisation (uuid, name, version) VALUES (?, ?, 0)", organisationUuid, "Previous name");
+        replicaJdbcTemplate.update("INSERT INTO professional_user (uuid, user_id, first_name, surname, organisation_uuid, version) VALUES (?, ?, ?, ?, ?, 0)",
+            UUID.randomUUID(), "1", "Alexis", "GAYTE", organisationUuid);
+        routingDataSource.clearPrimaryPin();
+
+        assertTrue(professionalUserFullDetailService.retrieve("1").isPresent());
+
+        assertThat(cacheManager.getCache(ProfessionalUserFullDetailCache.NAME).get("1"), nullValue());
+    }
+
+    @Test
+    public void readOnlyTransactions_shouldFallBackToThePrimaryWhenTheReplicaLags() {
+        replicaJdbcTemplate.execute("UPDATE replication_lag SET lag_ms = 5000");
+        readReplicasHealth.refresh();
+
+        assertThat(databaseName(true), equalTo("TEST_MEM"));
+        assertThat(meterRegistry.get("pup.datasource.replica.fallbacks").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void replicaPools_shouldPublishTheirHikariMetrics() {
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge(), notNullValue());
+    }
+
+}
@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.ref.pup.component.repository;
+
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
+import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
+import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.service.PaymentAccountService;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @Autowired
+    private PaymentAccountRepository paymentAccountRepository;
+
+    @Autowired
+    private PaymentAccountService paymentAccountService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Organisation organisation;
+
+    @Before
+    public void setUp() {
+        organisation = new Organisation();
+        organisation.setName("Solicitor Ltd");
+        organisationRepository.save(organisation);
+
+        PaymentAccount paymentAccount = new PaymentAccount();
+        paymentAccount.setPbaNumber("PBA0000001");
+        paymentAccount.setOrganisation(organisation);
+        paymentAccountRepository.save(paymentAccount);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+    }
+
+    @Test
+    public void findById_shouldServeARepeatedOrganisationLookupFromTheCache() {
+        organisationRepository.findById(organisation.getUuid());
+        statistics.clear();
+
+        assertTrue(organisationRepository.findById(organisation.getUuid()).isPresent());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), greaterThan(0L));
+    }
+
+    @Test
+    public void retrieve_shouldServeARepeatedPbaLookupFromTheQueryCache() throws Exception {
+        paymentAccountService.retrieve("PBA0000001");
+        statistics.clear();
+
+        assertTrue(paymentAccountService.retrieve("PBA0000001").isPresent());
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getQueryCacheHitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void retrieve_shouldSeeAPaymentAccountCreatedAfterAMiss() throws Exception {
+        assertFalse(paymentAccountService.retrieve("PBA0000002").isPresent());
+
+        PaymentAccountCreation paymentAccountCreation = new PaymentAccountCreation();
+        paymentAccountCreation.setPbaNumber("PBA0000002");
+        paymentAccountCreation.setOrganisationId(organisation.getUuid());
+        paymentAccountService.create(paymentAccountCreation);
+
+        assertTrue(paymentAccountService.retrieve("PBA0000002").isPresent());
+    }
+}
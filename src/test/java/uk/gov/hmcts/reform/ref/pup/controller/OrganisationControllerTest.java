@@ -3,8 +3,12 @@ package uk.gov.hmcts.reform.ref.pup.controller;
 import uk.gov.hmcts.reform.ref.pup.dto.AddressCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationParentUpdate;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.AddressServiceAdaptor;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.OrganisationServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.PaymentAccountServiceAdaptor;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserServiceAdaptor;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -18,6 +22,8 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +31,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,7 +39,9 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,6 +55,12 @@ public class OrganisationControllerTest {
     @Mock
     protected AddressServiceAdaptor addressService;
 
+    @Mock
+    protected ProfessionalUserServiceAdaptor professionalUserService;
+
+    @Mock
+    protected PaymentAccountServiceAdaptor paymentAccountService;
+
     @InjectMocks
     protected OrganisationController organisationController;
 
@@ -55,9 +70,15 @@ public class OrganisationControllerTest {
     @Captor
     ArgumentCaptor<OrganisationCreation> organisationCaptor;
 
+    @Captor
+    ArgumentCaptor<OrganisationParentUpdate> parentUpdateCaptor;
+
     @Captor
     ArgumentCaptor<AddressCreation> addressCaptor;
 
+    @Captor
+    ArgumentCaptor<List<AddressCreation>> addressesCaptor;
+
     private MockMvc mvc;
 
     private OrganisationDto firstTestOrganisation;
@@ -98,18 +119,33 @@ public class OrganisationControllerTest {
     @Test
     public void getOrganisationShouldReturnTheUser() throws Exception {
 
+        when(organisationService.retrieveETag(any())).thenReturn(Optional.of("1"));
         when(organisationService.retrieve(any())).thenReturn(Optional.of(firstTestOrganisation));
 
         mvc.perform(get("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8").with(user("user")))
             .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1\""))
             .andExpect(jsonPath("name", is("DUMMY")))
             .andDo(print());
     }
 
+    @Test
+    public void getOrganisationShouldReturnNotModifiedWithoutLoadingItIfTheETagMatches() throws Exception {
+
+        when(organisationService.retrieveETag(any())).thenReturn(Optional.of("1"));
+
+        mvc.perform(get("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8").with(user("user"))
+                .header("If-None-Match", "\"1\""))
+            .andExpect(status().isNotModified())
+            .andDo(print());
+
+        verify(organisationService, never()).retrieve(any());
+    }
+
     @Test
     public void getOrganisationShouldReturnNotFoundIfTheServiceReturnEmpty() throws Exception {
 
-        when(organisationService.retrieve(any())).thenReturn(Optional.empty());
+        when(organisationService.retrieveETag(any())).thenReturn(Optional.empty());
 
         mvc.perform(get("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8").with(user("user")))
             .andExpect(status().isNotFound())
@@ -128,4 +164,66 @@ public class OrganisationControllerTest {
 
     }
 
+    @Test
+    public void addOrganisationAddressesShouldCreateAllTheAddressesAtOnce() throws Exception {
+
+        when(organisationService.retrieveETag(any())).thenReturn(Optional.of("2"));
+        when(organisationService.retrieve(any())).thenReturn(Optional.of(firstTestOrganisation));
+
+        mvc.perform(post("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8/addresses:batch").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("[{\"addressLine1\":\"address 1\"},{\"addressLine1\":\"address 2\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name", is("DUMMY")))
+            .andDo(print());
+
+        verify(addressService, only()).createAll(organisationIdCaptor.capture(), addressesCaptor.capture());
+        assertThat(organisationIdCaptor.getValue(), equalTo(UUID.fromString("c6c561cd-8f68-474e-89d3-13fece9b66f8")));
+        assertThat(addressesCaptor.getValue().size(), equalTo(2));
+        assertThat(addressesCaptor.getValue().get(1).getAddressLine1(), equalTo("address 2"));
+    }
+
+    @Test
+    public void moveOrganisationShouldMoveItUnderTheGivenParent() throws Exception {
+
+        when(organisationService.moveUnder(any(), any())).thenReturn(firstTestOrganisation);
+
+        mvc.perform(put("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8/parent").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"parentOrganisationId\":\"2b7a3a65-6b8b-4a51-a4d8-0c8b1f0b6d3e\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name", is("DUMMY")))
+            .andDo(print());
+
+        verify(organisationService, only()).moveUnder(organisationIdCaptor.capture(), parentUpdateCaptor.capture());
+        assertThat(organisationIdCaptor.getValue(), equalTo(UUID.fromString("c6c561cd-8f68-474e-89d3-13fece9b66f8")));
+        assertThat(parentUpdateCaptor.getValue().getParentOrganisationId(), equalTo(UUID.fromString("2b7a3a65-6b8b-4a51-a4d8-0c8b1f0b6d3e")));
+    }
+
+    @Test
+    public void getOrganisationDescendantsShouldReturnTheBranches() throws Exception {
+
+        when(organisationService.retrieveDescendants(any())).thenReturn(Collections.singletonList(firstTestOrganisation));
+
+        mvc.perform(get("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8/descendants").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name", is("DUMMY")))
+            .andDo(print());
+    }
+
+    @Test
+    public void getOrganisationPaymentAccountsShouldReturnThePaymentAccountsOfTheHierarchy() throws Exception {
+
+        when(paymentAccountService.retrieveAllInHierarchyOf(any()))
+            .thenReturn(Collections.singletonList(PaymentAccountDto.builder().pbaNumber("pbaNumber1").build()));
+
+        mvc.perform(get("/pup/organisations/c6c561cd-8f68-474e-89d3-13fece9b66f8/payment-accounts").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].pbaNumber", is("pbaNumber1")))
+            .andDo(print());
+
+        verify(paymentAccountService, only()).retrieveAllInHierarchyOf(organisationIdCaptor.capture());
+        assertThat(organisationIdCaptor.getValue(), equalTo(UUID.fromString("c6c561cd-8f68-474e-89d3-13fece9b66f8")));
+    }
+
 }
@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.ref.pup.controller;
 
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignment;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignmentResult;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.PaymentAccountServiceAdaptor;
@@ -16,6 +18,8 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +27,8 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +37,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -53,6 +60,9 @@ public class PaymentAccountControllerTest {
     @Captor
     ArgumentCaptor<UUID> organisationIdCaptor;
 
+    @Captor
+    ArgumentCaptor<List<PaymentAccountAssignment>> assignmentsCaptor;
+
     private MockMvc mvc;
 
     private PaymentAccountDto firstTestPaymentAccount;
@@ -94,18 +104,33 @@ public class PaymentAccountControllerTest {
     @Test
     public void getPaymentAccountShouldReturnThePaymentAccount() throws Exception {
 
+        when(paymentAccountServiceAdaptor.retrieveETag("1")).thenReturn(Optional.of("0"));
         when(paymentAccountServiceAdaptor.retrieve("1")).thenReturn(Optional.of(firstTestPaymentAccount));
 
         mvc.perform(get("/pup/payment-accounts/1").with(user("user")))
             .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"0\""))
             .andExpect(jsonPath("pbaNumber", is("DUMMY")))
             .andDo(print());
     }
 
+    @Test
+    public void getPaymentAccountShouldReturnNotModifiedWithoutLoadingItIfTheETagMatches() throws Exception {
+
+        when(paymentAccountServiceAdaptor.retrieveETag("1")).thenReturn(Optional.of("0"));
+
+        mvc.perform(get("/pup/payment-accounts/1").with(user("user"))
+                .header("If-None-Match", "\"0\""))
+            .andExpect(status().isNotModified())
+            .andDo(print());
+
+        verify(paymentAccountServiceAdaptor, never()).retrieve("1");
+    }
+
     @Test
     public void getPaymentAccountShouldReturnNotFoundIfTheServiceReturnEmpty() throws Exception {
 
-        when(paymentAccountServiceAdaptor.retrieve("1")).thenReturn(Optional.empty());
+        when(paymentAccountServiceAdaptor.retrieveETag("1")).thenReturn(Optional.empty());
 
         mvc.perform(get("/pup/payment-accounts/1").with(user("user")))
             .andExpect(status().isNotFound())
@@ -124,4 +149,23 @@ public class PaymentAccountControllerTest {
 
     }
 
+    @Test
+    public void assignPaymentAccountsInBatchShouldReturnTheResultOfEachAssignment() throws Exception {
+
+        when(paymentAccountServiceAdaptor.assignAll(eq("1"), any())).thenReturn(Collections.singletonList(
+            PaymentAccountAssignmentResult.builder().userId("2").addressId("c6c561cd-8f68-474e-89d3-13fece9b66f8").assigned(true).build()));
+
+        mvc.perform(post("/pup/payment-accounts/1/assignments:batch").with(user("user"))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("[{\"userId\":\"2\",\"addressId\":\"c6c561cd-8f68-474e-89d3-13fece9b66f8\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].userId", is("2")))
+            .andExpect(jsonPath("$[0].assigned", is(true)))
+            .andDo(print());
+
+        verify(paymentAccountServiceAdaptor, only()).assignAll(eq("1"), assignmentsCaptor.capture());
+        assertThat(assignmentsCaptor.getValue().size(), equalTo(1));
+        assertThat(assignmentsCaptor.getValue().get(0).getUserId(), equalTo("2"));
+    }
+
 }
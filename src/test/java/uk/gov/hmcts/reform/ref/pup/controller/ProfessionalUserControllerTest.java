@@ -1,7 +1,9 @@
 package uk.gov.hmcts.reform.ref.pup.controller;
 
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
+import uk.gov.hmcts.reform.ref.pup.service.adaptor.OrganisationServiceAdaptor;
 import uk.gov.hmcts.reform.ref.pup.service.adaptor.ProfessionalUserServiceAdaptor;
 
 import org.junit.Before;
@@ -22,6 +24,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +33,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +44,9 @@ public class ProfessionalUserControllerTest {
     @Mock
     protected ProfessionalUserServiceAdaptor professionalUserService;
 
+    @Mock
+    protected OrganisationServiceAdaptor organisationService;
+
     @InjectMocks
     protected ProfessionalUserController professionalUserController;
 
@@ -93,19 +100,34 @@ public class ProfessionalUserControllerTest {
     @Test
     public void getProfessionalUserShouldReturnTheUser() throws Exception {
 
+        when(professionalUserService.retrieveETag("1")).thenReturn(Optional.of("3"));
         when(professionalUserService.retrieve("1")).thenReturn(Optional.of(firstTestUserDto));
 
         mvc.perform(get("/pup/professional-users/1").with(user("user")))
             .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"3\""))
             .andExpect(jsonPath("userId", is("1")))
             .andExpect(jsonPath("email", is("DUMMY@DUMMY.com")))
             .andDo(print());
     }
 
+    @Test
+    public void getProfessionalUserShouldReturnNotModifiedWithoutLoadingItIfTheETagMatches() throws Exception {
+
+        when(professionalUserService.retrieveETag("1")).thenReturn(Optional.of("3"));
+
+        mvc.perform(get("/pup/professional-users/1").with(user("user"))
+                .header("If-None-Match", "\"3\""))
+            .andExpect(status().isNotModified())
+            .andDo(print());
+
+        verify(professionalUserService, never()).retrieve("1");
+    }
+
     @Test
     public void getProfessionalUserShouldReturnNotFoundIfTheServiceReturnEmpty() throws Exception {
 
-        when(professionalUserService.retrieve("1")).thenReturn(Optional.empty());
+        when(professionalUserService.retrieveETag("1")).thenReturn(Optional.empty());
 
         mvc.perform(get("/pup/professional-users/1").with(user("user")))
             .andExpect(status().isNotFound())
@@ -124,4 +146,25 @@ public class ProfessionalUserControllerTest {
 
     }
 
+    @Test
+    public void getRootOrganisationShouldReturnTheRootOfTheHierarchyOfTheUser() throws Exception {
+
+        when(organisationService.retrieveRootForProfessionalUser("1")).thenReturn(Optional.of(OrganisationDto.builder().name("Head Office").build()));
+
+        mvc.perform(get("/pup/professional-users/1/root-organisation").with(user("user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("name", is("Head Office")))
+            .andDo(print());
+    }
+
+    @Test
+    public void getRootOrganisationShouldReturnNotFoundForAnUnknownUser() throws Exception {
+
+        when(organisationService.retrieveRootForProfessionalUser("1")).thenReturn(Optional.empty());
+
+        mvc.perform(get("/pup/professional-users/1/root-organisation").with(user("user")))
+            .andExpect(status().isNotFound())
+            .andDo(print());
+    }
+
 }
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.ref.pup.converter;
+
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
+import uk.gov.hmcts.reform.ref.pup.dto.ChangeEventDto;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChangeEventConverterTest {
+
+    ChangeEventConverter changeEventConverter = new ChangeEventConverter();
+
+    @Test
+    public void shouldReturnNullIsObjectIsNull() throws Exception {
+
+        ChangeEventDto apply = changeEventConverter.apply(null);
+
+        assertThat(apply, equalTo(null));
+    }
+
+    @Test
+    public void dataShouldMatch() throws Exception {
+
+        UUID organisationId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        ChangeEvent changeEvent = ChangeEvent.of(ChangeEntityType.PAYMENT_ACCOUNT, "DUMMY_PBA_NUMBER", ChangeType.ASSIGNED, organisationId);
+        changeEvent.setSequence(42L);
+        changeEvent.setUserId("DUMMY_USER_ID");
+        changeEvent.setAddressId(addressId);
+        ChangeEventDto changeEventDto = changeEventConverter.apply(changeEvent);
+
+        assertThat(changeEventDto.getSequence(), equalTo(42L));
+        assertThat(changeEventDto.getEntityType(), equalTo(ChangeEntityType.PAYMENT_ACCOUNT));
+        assertThat(changeEventDto.getEntityId(), equalTo("DUMMY_PBA_NUMBER"));
+        assertThat(changeEventDto.getChangeType(), equalTo(ChangeType.ASSIGNED));
+        assertThat(changeEventDto.getOrganisationId(), equalTo(organisationId));
+        assertThat(changeEventDto.getUserId(), equalTo("DUMMY_USER_ID"));
+        assertThat(changeEventDto.getAddressId(), equalTo(addressId));
+    }
+}
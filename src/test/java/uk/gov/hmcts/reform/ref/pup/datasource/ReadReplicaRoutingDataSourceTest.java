@@ -0,0 +1,161 @@
+package uk.gov.hmcts.reform.ref.pup.datasource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+public class ReadReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplicaDataSource;
+
+    @Mock
+    private DataSource secondReplicaDataSource;
+
+    private Connection primaryConnection;
+    private Connection firstReplicaConnection;
+    private Connection secondReplicaConnection;
+
+    private ReadReplica firstReplica;
+    private ReadReplica secondReplica;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Before
+    public void setUp() throws SQLException {
+        primaryConnection = mock(Connection.class);
+        firstReplicaConnection = replicaConnection(0);
+        secondReplicaConnection = replicaConnection(0);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplicaDataSource.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplicaDataSource.getConnection()).thenReturn(secondReplicaConnection);
+
+        firstReplica = new ReadReplica("replica-1", firstReplicaDataSource, LAG_QUERY, 1000);
+        secondReplica = new ReadReplica("replica-2", secondReplicaDataSource, LAG_QUERY, 1000);
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, Arrays.asList(firstReplica, secondReplica), 60000, meterRegistry);
+        routingDataSource.checkReplicas();
+    }
+
+    @After
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routingDataSource.clearPrimaryPin();
+    }
+
+    private Connection replicaConnection(long lagMs) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMs);
+        return connection;
+    }
+
+    @Test
+    public void getConnection_outsideOfAReadOnlyTransactionShouldUseThePrimary() throws SQLException {
+        assertThat(routingDataSource.getConnection(), equalTo(primaryConnection));
+    }
+
+    @Test
+    public void getConnection_inAReadOnlyTransactionShouldUseTheReplicasInTurn() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection(), equalTo(firstReplicaConnection));
+        assertThat(routingDataSource.getConnection(), equalTo(secondReplicaConnection));
+        assertThat(routingDataSource.getConnection(), equalTo(firstReplicaConnection));
+        assertThat(meterRegistry.get("pup.datasource.connections").tag("pool", "replica-2").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void getConnection_shouldSkipAReplicaThatFailsToConnect() throws SQLException {
+        when(firstReplicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection(), equalTo(secondReplicaConnection));
+        assertThat(routingDataSource.getConnection(), equalTo(secondReplicaConnection));
+        assertThat(firstReplica.isAvailable(), is(false));
+        assertThat(firstReplica.getError(), equalTo("Connection refused"));
+    }
+
+    @Test
+    public void getConnection_shouldFallBackToThePrimaryWhenTheReplicasLag() throws SQLException {
+        Connection laggingConnection = replicaConnection(5000);
+        when(firstReplicaDataSource.getConnection()).thenReturn(laggingConnection);
+        when(secondReplicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection(), equalTo(primaryConnection));
+        assertThat(firstReplica.getLagMs(), equalTo(5000L));
+        assertThat(firstReplica.getError(), notNullValue());
+        assertThat(meterRegistry.get("pup.datasource.replica.fallbacks").counter().count(), equalTo(1.0));
+        assertThat(meterRegistry.get("pup.datasource.replica.available").tag("pool", "replica-1").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    public void getConnection_inAReadOnlyTransactionShouldUseThePrimaryAfterAWriteOnTheSameThread() throws SQLException {
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection(), equalTo(primaryConnection));
+
+        routingDataSource.clearPrimaryPin();
+
+        assertThat(routingDataSource.getConnection(), equalTo(firstReplicaConnection));
+    }
+
+    @Test
+    public void getConnection_inAReadOnlyTransactionShouldUseTheReplicasOnceThePrimaryPinHasExpired() throws SQLException {
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, Arrays.asList(firstReplica, secondReplica), 0, meterRegistry);
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection(), equalTo(firstReplicaConnection));
+    }
+
+    @Test
+    public void isReadingFromReplica_shouldTellWhetherTheLastConnectionIsAReplicas() throws SQLException {
+        routingDataSource.getConnection();
+
+        assertThat(ReadReplicaRoutingDataSource.isReadingFromReplica(), is(false));
+
+        routingDataSource.clearPrimaryPin();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routingDataSource.getConnection();
+
+        assertThat(ReadReplicaRoutingDataSource.isReadingFromReplica(), is(true));
+    }
+
+}
@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class ProfessionalUserTest {
@@ -51,4 +52,15 @@ public class ProfessionalUserTest {
         assertThat(professionalUser.toString(), containsString(randomUuid.toString()));
     }
 
+    @Test
+    public void setEmailShouldKeepTheLowerCasedEmailDomain() throws Exception {
+        ProfessionalUser professionalUser = new ProfessionalUser();
+
+        professionalUser.setEmail("Alexis.Gayte@HMCTS.net");
+        assertThat(professionalUser.getEmailDomain(), equalTo("hmcts.net"));
+
+        professionalUser.setEmail("DUMMY");
+        assertThat(professionalUser.getEmailDomain(), nullValue());
+    }
+
 }
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.ref.pup.domain;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    public void nextUuidShouldBeAVersion7Uuid() throws Exception {
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+        assertThat(uuid.version(), equalTo(7));
+        assertThat(uuid.variant(), equalTo(2));
+    }
+
+    @Test
+    public void nextUuidShouldStartWithTheCurrentTimestamp() throws Exception {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertThat(timestamp, greaterThanOrEqualTo(before));
+        // The sequence carries over into the following milliseconds when more than 4096 identifiers are generated in
+        // one, which other tests of the same JVM may have done.
+        assertThat(timestamp, lessThanOrEqualTo(after + 1000));
+    }
+
+    @Test
+    public void nextUuidShouldBeStrictlyIncreasing() throws Exception {
+        UUID previous = TimeOrderedUuidGenerator.nextUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.nextUuid();
+            // Compared as unsigned, the byte order used by the database indexes.
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()), greaterThan(0));
+            assertThat(next.toString().compareTo(previous.toString()), greaterThan(0));
+            previous = next;
+        }
+    }
+}
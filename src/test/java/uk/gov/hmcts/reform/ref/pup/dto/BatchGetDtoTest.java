@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class BatchGetDtoTest {
+
+    @Test
+    public void ofShouldKeyTheFoundItemsInRequestOrderAndListTheMissingKeys() throws Exception {
+        BatchGetDto<String> batch = BatchGetDto.of(Arrays.asList("c", "a", "b"), Arrays.asList("a", "c"), Function.identity(), String::toUpperCase);
+
+        assertThat(new ArrayList<>(batch.getFound().keySet()), equalTo(Arrays.asList("c", "a")));
+        assertThat(batch.getFound().get("a"), equalTo("A"));
+        assertThat(batch.getNotFound(), equalTo(Collections.singletonList("b")));
+    }
+
+    @Test
+    public void distinctKeysShouldDropDuplicates() throws Exception {
+        assertThat(new ArrayList<>(BatchGetDto.distinctKeys(Arrays.asList("b", "a", "b"))), equalTo(Arrays.asList("b", "a")));
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void distinctKeysShouldRejectTooManyKeys() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i <= BatchGetDto.MAX_KEYS; i++) {
+            keys.add("key" + i);
+        }
+
+        BatchGetDto.distinctKeys(keys);
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.hmcts.reform.ref.pup.dto;
+
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CursorPageDtoTest {
+
+    @Test
+    public void ofShouldPointTheCursorAtTheLastItemWhenThereIsANextSlice() throws Exception {
+        CursorPageDto<String> page = CursorPageDto.of(new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(0, 2), true), String::toUpperCase, Function.identity());
+
+        assertThat(page.getContent(), equalTo(Arrays.asList("A", "B")));
+        assertThat(CursorPageDto.decodeCursor(page.getNextCursor()), equalTo("b"));
+    }
+
+    @Test
+    public void ofShouldNotReturnACursorOnTheLastSlice() {
+        CursorPageDto<String> page = CursorPageDto.of(new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(0, 2), false), Function.identity(), Function.identity());
+
+        assertThat(page.getNextCursor(), nullValue());
+    }
+
+    @Test
+    public void decodeCursorWithoutCursorShouldStartFromTheBeginning() throws Exception {
+        assertThat(CursorPageDto.decodeCursor(null), equalTo(""));
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void decodeCursorShouldRejectAnInvalidCursor() throws Exception {
+        CursorPageDto.decodeCursor("not a cursor");
+    }
+
+    @Test
+    public void pageSizeShouldBeBounded() {
+        assertThat(CursorPageDto.pageSize(0), equalTo(1));
+        assertThat(CursorPageDto.pageSize(1000), equalTo(CursorPageDto.MAX_SIZE));
+    }
+}
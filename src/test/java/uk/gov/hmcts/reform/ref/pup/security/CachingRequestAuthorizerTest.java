@@ -0,0 +1,127 @@
+package uk.gov.hmcts.reform.ref.pup.security;
+
+import uk.gov.hmcts.reform.auth.checker.core.RequestAuthorizer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CachingRequestAuthorizerTest {
+
+    private static final String HEADER = "Authorization";
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private StubRequestAuthorizer stub;
+
+    private CachingRequestAuthorizer<String> cachingRequestAuthorizer;
+
+    @Before
+    public void setUp() {
+        stub = new StubRequestAuthorizer();
+        cachingRequestAuthorizer = new CachingRequestAuthorizer<>(stub, HEADER, 100, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void authorise_shouldOnlyCallTheDelegateOnceForTheSameToken() {
+        String token = "Bearer " + jwt(NOW.plusSeconds(600));
+
+        assertThat(cachingRequestAuthorizer.authorise(request(token)), equalTo("subject-1"));
+        assertThat(cachingRequestAuthorizer.authorise(request(token)), equalTo("subject-1"));
+
+        assertThat(stub.calls, equalTo(1));
+    }
+
+    @Test
+    public void authorise_shouldCallTheDelegateForEachDistinctToken() {
+        cachingRequestAuthorizer.authorise(request("Bearer " + jwt(NOW.plusSeconds(600))));
+        cachingRequestAuthorizer.authorise(request("Bearer " + jwt(NOW.plusSeconds(601))));
+
+        assertThat(stub.calls, equalTo(2));
+    }
+
+    @Test
+    public void authorise_shouldNotReuseATokenPastItsExpiry() {
+        String token = jwt(NOW.minusSeconds(1));
+
+        cachingRequestAuthorizer.authorise(request(token));
+        cachingRequestAuthorizer.authorise(request(token));
+
+        assertThat(stub.calls, equalTo(2));
+    }
+
+    @Test
+    public void authorise_shouldCacheAnOpaqueTokenForTheTimeToLive() {
+        cachingRequestAuthorizer.authorise(request("opaque-token"));
+        cachingRequestAuthorizer.authorise(request("opaque-token"));
+
+        assertThat(stub.calls, equalTo(1));
+    }
+
+    @Test
+    public void authorise_shouldNotCacheFailures() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                cachingRequestAuthorizer.authorise(request(StubRequestAuthorizer.REJECTED_TOKEN));
+                fail("The stub should have rejected the token");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+
+        assertThat(stub.calls, equalTo(2));
+    }
+
+    @Test
+    public void authorise_withoutHeaderShouldAlwaysDelegate() {
+        cachingRequestAuthorizer.authorise(new MockHttpServletRequest());
+        cachingRequestAuthorizer.authorise(new MockHttpServletRequest());
+
+        assertThat(stub.calls, equalTo(2));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HEADER, token);
+        return request;
+    }
+
+    private static String jwt(Instant expiry) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+            + "." + encoder.encodeToString(("{\"sub\":\"user\",\"exp\":" + expiry.getEpochSecond() + "}").getBytes(StandardCharsets.UTF_8))
+            + ".signature";
+    }
+
+    /**
+     * Stands in for the remote S2S and IDAM authorizers, counting the calls that would have gone over the network.
+     */
+    private static class StubRequestAuthorizer implements RequestAuthorizer<String> {
+
+        static final String REJECTED_TOKEN = "rejected";
+
+        private int calls;
+
+        @Override
+        public String authorise(HttpServletRequest request) {
+            calls++;
+            if (REJECTED_TOKEN.equals(request.getHeader(HEADER))) {
+                throw new IllegalStateException("Unauthorised");
+            }
+            return "subject-" + calls;
+        }
+    }
+}
@@ -1,20 +1,35 @@
 package uk.gov.hmcts.reform.ref.pup.service.impl;
 
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEntityType;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.domain.OrganisationType;
+import uk.gov.hmcts.reform.ref.pup.dto.AddressDto;
 import uk.gov.hmcts.reform.ref.pup.dto.OrganisationCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.OrganisationDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
 import uk.gov.hmcts.reform.ref.pup.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,7 +37,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.only;
+import static org.mockito.ArgumentMatchers.eq;
 
 @RunWith(SpringRunner.class)
 public class OrganisationServiceImplTest {
@@ -30,7 +45,27 @@ public class OrganisationServiceImplTest {
     @Mock
     private OrganisationRepository organisationRepository;
 
-    @InjectMocks
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private PaymentAccountRepository paymentAccountRepository;
+
+    @Mock
+    private ProfessionalUserRepository professionalUserRepository;
+
+    @Mock
+    private UserProfileViewUpdater userProfileViewUpdater;
+
+    @Mock
+    private ChangeEventService changeEventService;
+
+    @Captor
+    private ArgumentCaptor<ChangeEvent> changeEventCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ChangeEvent>> changeEventsCaptor;
+
     private OrganisationServiceImpl organisationService;
 
     private Organisation testOrganisation;
@@ -38,6 +73,8 @@ public class OrganisationServiceImplTest {
 
     @Before
     public void setUp() {
+        organisationService = new OrganisationServiceImpl(organisationRepository, addressRepository, paymentAccountRepository,
+            professionalUserRepository, userProfileViewUpdater, changeEventService, 100, 3);
 
         testOrganisation = createFakeOrganisation();
         testOrganisationRequest = createFakeOrganisationRequest();
@@ -57,27 +94,78 @@ public class OrganisationServiceImplTest {
         return firstTestOrganisation;
     }
 
-    private Organisation createFakeOrganisationWithSamName() {
-        Organisation foolTestOrganisation = new Organisation();
-        foolTestOrganisation.setName("DUMMY");
-        foolTestOrganisation.setOrganisationType(OrganisationType.LEGAL_REPRESENTATION);
-        foolTestOrganisation.setUuid(UUID.randomUUID());
-        return foolTestOrganisation;
-    }
-
     @Test
     public void create() throws ApplicationException {
-        Mockito.when(organisationRepository.save(any())).thenReturn(testOrganisation);
+        Mockito.when(organisationRepository.saveAndFlush(any())).thenReturn(testOrganisation);
 
         Organisation created = organisationService.create(testOrganisationRequest);
 
         assertThat(created.getName(), equalTo(testOrganisationRequest.getName()));
+        Mockito.verify(organisationRepository).insertIntoHierarchy(testOrganisation.getUuid(), null);
+        Mockito.verify(changeEventService).record(changeEventCaptor.capture());
+        assertThat(changeEventCaptor.getValue().getEntityType(), equalTo(ChangeEntityType.ORGANISATION));
+        assertThat(changeEventCaptor.getValue().getEntityId(), equalTo(testOrganisation.getUuid().toString()));
+        assertThat(changeEventCaptor.getValue().getChangeType(), equalTo(ChangeType.CREATED));
+    }
+
+    @Test
+    public void create_withAParentShouldAddTheOrganisationUnderIt() throws ApplicationException {
+        Organisation parent = createFakeOrganisation();
+        testOrganisationRequest.setParentOrganisationId(parent.getUuid());
+        Mockito.when(organisationRepository.findById(parent.getUuid())).thenReturn(Optional.of(parent));
+        Mockito.when(organisationRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Organisation created = organisationService.create(testOrganisationRequest);
+
+        assertThat(created.getOrganisation(), equalTo(parent));
+        Mockito.verify(organisationRepository).insertIntoHierarchy(created.getUuid(), parent.getUuid());
+    }
+
+    @Test
+    public void create_withAnUnknownParentShouldReturnAnException() throws ApplicationException {
+        testOrganisationRequest.setParentOrganisationId(UUID.randomUUID());
+
+        try {
+            organisationService.create(testOrganisationRequest);
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.ORGANISATION_ID_DOES_NOT_EXIST));
+        }
+        Mockito.verify(organisationRepository, Mockito.never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void moveUnder() throws ApplicationException {
+        Organisation parent = createFakeOrganisation();
+        Mockito.when(organisationRepository.findById(testOrganisation.getUuid())).thenReturn(Optional.of(testOrganisation));
+        Mockito.when(organisationRepository.findById(parent.getUuid())).thenReturn(Optional.of(parent));
+        Mockito.when(organisationRepository.saveAndFlush(testOrganisation)).thenReturn(testOrganisation);
+
+        Organisation moved = organisationService.moveUnder(testOrganisation.getUuid(), parent.getUuid());
+
+        assertThat(moved.getOrganisation(), equalTo(parent));
+        Mockito.verify(organisationRepository).moveInHierarchy(testOrganisation.getUuid(), parent.getUuid());
+    }
+
+    @Test
+    public void moveUnder_oneOfItsDescendantsShouldReturnAnException() throws ApplicationException {
+        Organisation descendant = createFakeOrganisation();
+        Mockito.when(organisationRepository.findById(testOrganisation.getUuid())).thenReturn(Optional.of(testOrganisation));
+        Mockito.when(organisationRepository.findById(descendant.getUuid())).thenReturn(Optional.of(descendant));
+        Mockito.when(organisationRepository.isAncestorOf(testOrganisation.getUuid(), descendant.getUuid())).thenReturn(true);
+
+        try {
+            organisationService.moveUnder(testOrganisation.getUuid(), descendant.getUuid());
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.INVALID_PARENT_ORGANISATION));
+        }
+        Mockito.verify(organisationRepository, Mockito.never()).moveInHierarchy(any(), any());
     }
 
     @Test
     public void create_withAnAlreadyUsedNameShouldReturnAnException() throws ApplicationException {
-        Mockito.when(organisationRepository.findOneByName(testOrganisation.getName())).thenReturn(Optional.of(createFakeOrganisationWithSamName()));
-        Mockito.when(organisationRepository.save(testOrganisation)).thenReturn(testOrganisation);
+        Mockito.when(organisationRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("UK4cj3idr72jukvc49m5dgo9jmo"));
 
         try {
             organisationService.create(testOrganisationRequest);
@@ -85,7 +173,8 @@ public class OrganisationServiceImplTest {
         } catch (ApplicationException e) {
             assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.ORGANISATION_ID_IN_USE));
         }
-
+        Mockito.verify(organisationRepository, Mockito.never()).insertIntoHierarchy(any(), any());
+        Mockito.verify(changeEventService, Mockito.never()).record(any());
     }
 
     @Test
@@ -97,13 +186,76 @@ public class OrganisationServiceImplTest {
         assertThat(retrieve.get().getUuid(), equalTo(testOrganisation.getUuid()));
     }
 
+    @Test
+    public void retrieveDto_shouldAddTheAddressesToTheOrganisation() throws ApplicationException {
+        UUID uuid = testOrganisation.getUuid();
+        AddressDto address = AddressDto.builder().uuid(UUID.randomUUID()).postcode("SW1A 1AA").build();
+        Mockito.when(organisationRepository.findDtoByUuid(uuid)).thenReturn(Optional.of(new OrganisationDto(uuid, "DUMMY", null)));
+        Mockito.when(addressRepository.findAllDtosByOrganisationUuid(uuid)).thenReturn(Collections.singletonList(address));
+
+        Optional<OrganisationDto> retrieve = organisationService.retrieveDto(uuid);
+
+        assertThat(retrieve.get().getName(), equalTo("DUMMY"));
+        assertThat(retrieve.get().getAddresses(), equalTo(Collections.singletonList(address)));
+        Mockito.verify(organisationRepository, Mockito.never()).findById(any());
+    }
+
 
     @Test
-    public void delete() throws ApplicationException {
+    public void retrieveWithAddresses() throws ApplicationException {
+        Mockito.when(organisationRepository.findWithAddressesByUuid(testOrganisation.getUuid())).thenReturn(Optional.of(testOrganisation));
+
+        Optional<Organisation> retrieve = organisationService.retrieveWithAddresses(testOrganisation.getUuid());
+
+        assertThat(retrieve.get().getUuid(), equalTo(testOrganisation.getUuid()));
+    }
+
+    @Test
+    public void delete_shouldSoftDeleteTheWholeHierarchy() throws ApplicationException {
+        UUID uuid = testOrganisation.getUuid();
+        UUID branchUuid = UUID.randomUUID();
+        Mockito.when(organisationRepository.findUuidsInHierarchyOf(uuid)).thenReturn(Arrays.asList(uuid, branchUuid));
+
+        organisationService.delete(uuid);
+
+        Mockito.verify(userProfileViewUpdater).invalidateHierarchy(uuid);
+        Mockito.verify(professionalUserRepository).softDeleteAllInHierarchyOf(eq(uuid), any());
+        Mockito.verify(paymentAccountRepository).softDeleteAllInHierarchyOf(eq(uuid), any());
+        Mockito.verify(addressRepository).softDeleteAllInHierarchyOf(eq(uuid), any());
+        Mockito.verify(organisationRepository).softDeleteAllInHierarchyOf(eq(uuid), any());
+        Mockito.verify(organisationRepository, Mockito.never()).deleteById(any());
+        Mockito.verify(changeEventService).recordAll(changeEventsCaptor.capture());
+        assertThat(changeEventsCaptor.getValue().size(), equalTo(2));
+        assertThat(changeEventsCaptor.getValue().get(1).getEntityId(), equalTo(branchUuid.toString()));
+        assertThat(changeEventsCaptor.getValue().get(1).getChangeType(), equalTo(ChangeType.DELETED));
+    }
+
+    @Test
+    public void delete_withAnUnknownOrganisationShouldDoNothing() throws ApplicationException {
+        Mockito.when(organisationRepository.findUuidsInHierarchyOf(testOrganisation.getUuid())).thenReturn(Collections.emptyList());
 
         organisationService.delete(testOrganisation.getUuid());
 
-        Mockito.verify(organisationRepository, only()).deleteById(testOrganisation.getUuid());
+        Mockito.verify(organisationRepository, Mockito.never()).softDeleteAllInHierarchyOf(any(), any());
+        Mockito.verify(changeEventService, Mockito.never()).recordAll(any());
+    }
+
+    @Test
+    public void purgeDeleted_shouldPurgeChunksUntilNoRowIsLeft() {
+        Mockito.when(organisationRepository.purgeDeleted(100)).thenReturn(100, 42, 0);
+
+        assertThat(organisationService.purgeDeleted(), equalTo(142));
+
+        Mockito.verify(organisationRepository, Mockito.times(3)).purgeDeleted(100);
+    }
+
+    @Test
+    public void purgeDeleted_shouldStopAfterTheMaximumNumberOfChunks() {
+        Mockito.when(organisationRepository.purgeDeleted(100)).thenReturn(100);
+
+        assertThat(organisationService.purgeDeleted(), equalTo(300));
+
+        Mockito.verify(organisationRepository, Mockito.times(3)).purgeDeleted(100);
     }
 
 }
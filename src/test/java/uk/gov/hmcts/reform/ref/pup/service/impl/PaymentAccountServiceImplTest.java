@@ -1,26 +1,57 @@
 package uk.gov.hmcts.reform.ref.pup.service.impl;
 
+import uk.gov.hmcts.reform.ref.pup.domain.Address;
+import uk.gov.hmcts.reform.ref.pup.domain.Assignment;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
 import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.domain.OrganisationType;
 import uk.gov.hmcts.reform.ref.pup.domain.PaymentAccount;
+import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignment;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountAssignmentResult;
 import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.PaymentAccountDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
+import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException.ApplicationErrorCode;
+import uk.gov.hmcts.reform.ref.pup.repository.AddressRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.AssignmentRepository;
 import uk.gov.hmcts.reform.ref.pup.repository.PaymentAccountRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
 import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
+import uk.gov.hmcts.reform.ref.pup.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +65,30 @@ public class PaymentAccountServiceImplTest {
     @Mock
     private OrganisationService organisationService;
 
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private ProfessionalUserService professionalUserService;
+
+    @Mock
+    private UserProfileViewUpdater userProfileViewUpdater;
+
+    @Mock
+    private ChangeEventService changeEventService;
+
+    @Captor
+    private ArgumentCaptor<List<Assignment>> assignmentsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ChangeEvent>> changeEventsCaptor;
+
+    @Captor
+    private ArgumentCaptor<ChangeEvent> changeEventCaptor;
+
     @InjectMocks
     private PaymentAccountServiceImpl paymentAccountService;
 
@@ -42,12 +97,39 @@ public class PaymentAccountServiceImplTest {
 
     private Organisation testOrganisation;
 
+    private ProfessionalUser testProfessionalUser;
+    private Address testAddress;
+
     @Before
     public void setUp() {
 
         testOrganisation = createFakeOrganisation();
         paymentAccount = createFakePaymentAccount();
         paymentAccountRequest = createFakePaymentAccountRequest();
+        testProfessionalUser = createFakeProfessionalUser();
+        testAddress = createFakeAddress();
+    }
+
+    private ProfessionalUser createFakeProfessionalUser() {
+        ProfessionalUser professionalUser = new ProfessionalUser();
+        professionalUser.setUuid(UUID.randomUUID());
+        professionalUser.setUserId("1");
+        professionalUser.setOrganisation(testOrganisation);
+        return professionalUser;
+    }
+
+    private Address createFakeAddress() {
+        Address address = new Address();
+        address.setUuid(UUID.randomUUID());
+        address.setOrganisation(testOrganisation);
+        return address;
+    }
+
+    private PaymentAccountAssignment createFakeAssignmentRequest(String userId, String addressId) {
+        PaymentAccountAssignment paymentAccountAssignment = new PaymentAccountAssignment();
+        paymentAccountAssignment.setUserId(userId);
+        paymentAccountAssignment.setAddressId(addressId);
+        return paymentAccountAssignment;
     }
 
     private Organisation createFakeOrganisation() {
@@ -75,23 +157,38 @@ public class PaymentAccountServiceImplTest {
 
     @Test
     public void create() throws ApplicationException {
-        when(paymentAccountRepository.save(any())).thenAnswer(i -> i.getArgument(0));
-        when(organisationService.retrieve(testOrganisation.getUuid())).thenReturn(Optional.of(testOrganisation));
+        when(paymentAccountRepository.saveAndFlush(any())).thenAnswer(i -> i.getArgument(0));
+        when(organisationService.retrieveForChildChange(testOrganisation.getUuid())).thenReturn(Optional.of(testOrganisation));
 
         PaymentAccount created = paymentAccountService.create(paymentAccountRequest);
 
         assertThat(created.getOrganisation(), equalTo(testOrganisation));
         assertThat(created.getPbaNumber(), equalTo(paymentAccountRequest.getPbaNumber()));
+        verify(userProfileViewUpdater).invalidateOrganisation(testOrganisation.getUuid());
     }
 
     @Test(expected = ApplicationException.class)
     public void create_withAnInexistantOrganisationShouldReturnAnException() throws ApplicationException {
-        when(paymentAccountRepository.save(any())).thenAnswer(i -> i.getArgument(0));
-        when(organisationService.retrieve(testOrganisation.getUuid())).thenReturn(Optional.empty());
+        when(paymentAccountRepository.saveAndFlush(any())).thenAnswer(i -> i.getArgument(0));
+        when(organisationService.retrieveForChildChange(testOrganisation.getUuid())).thenReturn(Optional.empty());
 
         paymentAccountService.create(paymentAccountRequest);
     }
 
+    @Test
+    public void create_withAPbaNumberInUseShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("idx_payment_account_pba_number"));
+        when(organisationService.retrieveForChildChange(testOrganisation.getUuid())).thenReturn(Optional.of(testOrganisation));
+
+        try {
+            paymentAccountService.create(paymentAccountRequest);
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_ID_IN_USE));
+        }
+        verify(changeEventService, never()).record(any());
+    }
+
     @Test
     public void retrieve() throws ApplicationException {
         when(paymentAccountRepository.findByPbaNumber(paymentAccountRequest.getPbaNumber())).thenReturn(Optional.ofNullable(paymentAccount));
@@ -101,12 +198,207 @@ public class PaymentAccountServiceImplTest {
         assertThat(retrieve.get().getPbaNumber(), equalTo(paymentAccountRequest.getPbaNumber()));
     }
 
+    @Test
+    public void retrieveDto() throws ApplicationException {
+        PaymentAccountDto paymentAccountDto = new PaymentAccountDto(UUID.randomUUID(), paymentAccountRequest.getPbaNumber(), UUID.randomUUID());
+        when(paymentAccountRepository.findDtoByPbaNumber(paymentAccountRequest.getPbaNumber())).thenReturn(Optional.of(paymentAccountDto));
+
+        Optional<PaymentAccountDto> retrieve = paymentAccountService.retrieveDto(paymentAccountRequest.getPbaNumber());
+
+        assertThat(retrieve.get(), equalTo(paymentAccountDto));
+        verify(paymentAccountRepository, never()).findByPbaNumber(any());
+    }
+
     @Test
     public void delete() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber(paymentAccountRequest.getPbaNumber())).thenReturn(Optional.of(paymentAccount));
+
+        paymentAccountService.delete(paymentAccountRequest.getPbaNumber());
+
+        verify(paymentAccountRepository).softDeleteByPbaNumber(eq(paymentAccountRequest.getPbaNumber()), any());
+        verify(assignmentRepository).unassignAll(paymentAccount.getUuid());
+        verify(organisationService, only()).retrieveForChildChange(testOrganisation.getUuid());
+        verify(userProfileViewUpdater, only()).invalidatePaymentAccount(paymentAccountRequest.getPbaNumber());
+    }
+
+    @Test
+    public void delete_withAnInexistantPaymentAccountShouldNotTouchTheOrganisation() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber(paymentAccountRequest.getPbaNumber())).thenReturn(Optional.empty());
 
         paymentAccountService.delete(paymentAccountRequest.getPbaNumber());
 
-        verify(paymentAccountRepository, only()).deleteByPbaNumber(paymentAccountRequest.getPbaNumber());
+        verify(paymentAccountRepository).softDeleteByPbaNumber(eq(paymentAccountRequest.getPbaNumber()), any());
+        verify(organisationService, never()).retrieveForChildChange(any());
+        verify(changeEventService, never()).record(any());
+    }
+
+    @Test
+    public void assignAll_shouldInsertTheValidAssignmentsInOneBatchAndReportTheOthers() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieveAll(anyCollection())).thenReturn(Collections.singletonList(testProfessionalUser));
+        when(addressRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(testAddress));
+        when(assignmentRepository.findAllByPaymentAccountAndProfessionalUserIn(any(), anyCollection())).thenReturn(Collections.emptyList());
+
+        List<PaymentAccountAssignmentResult> results = paymentAccountService.assignAll("DUMMY", Arrays.asList(
+            createFakeAssignmentRequest("1", testAddress.getUuid().toString()),
+            createFakeAssignmentRequest("1", testAddress.getUuid().toString()),
+            createFakeAssignmentRequest("2", testAddress.getUuid().toString()),
+            createFakeAssignmentRequest("1", "not-a-uuid")));
+
+        assertThat(results.size(), equalTo(4));
+        assertThat(results.get(0).isAssigned(), is(true));
+        assertThat(results.get(0).getErrorCode(), nullValue());
+        assertThat(results.get(1).getErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED));
+        assertThat(results.get(2).getErrorCode(), equalTo(ApplicationErrorCode.PROFESSIONAL_USER_ID_DOES_NOT_EXIST));
+        assertThat(results.get(3).getErrorCode(), equalTo(ApplicationErrorCode.ADDRESS_ID_DOES_NOT_EXIST));
+
+        verify(assignmentRepository).insertAll(assignmentsCaptor.capture());
+        assertThat(assignmentsCaptor.getValue().size(), equalTo(1));
+        assertThat(assignmentsCaptor.getValue().get(0).getProfessionalUser(), equalTo(testProfessionalUser));
+        assertThat(assignmentsCaptor.getValue().get(0).getAddress(), equalTo(testAddress));
+        assertThat(assignmentsCaptor.getValue().get(0).getPaymentAccount(), equalTo(paymentAccount));
+        verify(userProfileViewUpdater, only()).invalidateUser("1");
+
+        verify(changeEventService).recordAll(changeEventsCaptor.capture());
+        assertThat(changeEventsCaptor.getValue().size(), equalTo(1));
+        assertThat(changeEventsCaptor.getValue().get(0).getChangeType(), equalTo(ChangeType.ASSIGNED));
+        assertThat(changeEventsCaptor.getValue().get(0).getEntityId(), equalTo("DUMMY"));
+        assertThat(changeEventsCaptor.getValue().get(0).getUserId(), equalTo("1"));
+        assertThat(changeEventsCaptor.getValue().get(0).getAddressId(), equalTo(testAddress.getUuid()));
+    }
+
+    @Test
+    public void assignAll_shouldRejectAnAssignmentThatAlreadyExists() throws ApplicationException {
+        Assignment existing = new Assignment();
+        existing.setPaymentAccount(paymentAccount);
+        existing.setProfessionalUser(testProfessionalUser);
+        existing.setAddress(testAddress);
+
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieveAll(anyCollection())).thenReturn(Collections.singletonList(testProfessionalUser));
+        when(addressRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(testAddress));
+        when(assignmentRepository.findAllByPaymentAccountAndProfessionalUserIn(any(), anyCollection())).thenReturn(Collections.singletonList(existing));
+
+        List<PaymentAccountAssignmentResult> results = paymentAccountService.assignAll("DUMMY",
+            Collections.singletonList(createFakeAssignmentRequest("1", testAddress.getUuid().toString())));
+
+        assertThat(results.get(0).isAssigned(), is(false));
+        assertThat(results.get(0).getErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED));
+        verify(assignmentRepository).insertAll(Collections.emptyList());
+        verify(userProfileViewUpdater, never()).invalidateUser(anyString());
+    }
+
+    @Test
+    public void assignAll_withAnAssignmentInsertedConcurrentlyShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieveAll(anyCollection())).thenReturn(Collections.singletonList(testProfessionalUser));
+        when(addressRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(testAddress));
+        when(assignmentRepository.findAllByPaymentAccountAndProfessionalUserIn(any(), anyCollection())).thenReturn(Collections.emptyList());
+        doThrow(new DuplicateKeyException("idx_assignment_user_account_address")).when(assignmentRepository).insertAll(anyList());
+
+        try {
+            paymentAccountService.assignAll("DUMMY", Collections.singletonList(createFakeAssignmentRequest("1", testAddress.getUuid().toString())));
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED));
+        }
+        verify(changeEventService, never()).recordAll(any());
+        verify(userProfileViewUpdater, never()).invalidateUser(anyString());
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void assignAll_withAnInexistantPaymentAccountShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.empty());
+
+        paymentAccountService.assignAll("DUMMY", Collections.emptyList());
+    }
+
+    @Test
+    public void assign_shouldInsertTheAssignmentWithASingleStatement() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(assignmentRepository.assign(paymentAccount.getUuid(), "1", testAddress.getUuid())).thenReturn(1);
+
+        PaymentAccount assigned = paymentAccountService.assign("DUMMY", createFakeAssignmentRequest("1", testAddress.getUuid().toString()));
+
+        assertThat(assigned, equalTo(paymentAccount));
+        verify(professionalUserService, never()).retrieve(anyString());
+        verify(addressRepository, never()).existsById(any());
+        verify(changeEventService).record(changeEventCaptor.capture());
+        assertThat(changeEventCaptor.getValue().getChangeType(), equalTo(ChangeType.ASSIGNED));
+        assertThat(changeEventCaptor.getValue().getUserId(), equalTo("1"));
+        verify(userProfileViewUpdater, only()).invalidateUser("1");
+    }
+
+    @Test
+    public void assign_insertedConcurrentlyShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(assignmentRepository.assign(paymentAccount.getUuid(), "1", testAddress.getUuid()))
+            .thenThrow(new DuplicateKeyException("idx_assignment_user_account_address"));
+
+        try {
+            paymentAccountService.assign("DUMMY", createFakeAssignmentRequest("1", testAddress.getUuid().toString()));
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED));
+        }
+        verify(changeEventService, never()).record(any());
+        verify(userProfileViewUpdater, never()).invalidateUser(any());
+    }
+
+    @Test
+    public void assign_withAnInexistantUserShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieve("2")).thenReturn(Optional.empty());
+
+        try {
+            paymentAccountService.assign("DUMMY", createFakeAssignmentRequest("2", testAddress.getUuid().toString()));
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.PROFESSIONAL_USER_ID_DOES_NOT_EXIST));
+        }
+        verify(changeEventService, never()).record(any());
+    }
+
+    @Test
+    public void assign_withAnInvalidAddressShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieve("1")).thenReturn(Optional.of(testProfessionalUser));
+
+        try {
+            paymentAccountService.assign("DUMMY", createFakeAssignmentRequest("1", "not-a-uuid"));
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.ADDRESS_ID_DOES_NOT_EXIST));
+        }
+    }
+
+    @Test
+    public void assign_anAssignmentThatAlreadyExistsShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieve("1")).thenReturn(Optional.of(testProfessionalUser));
+        when(addressRepository.existsById(testAddress.getUuid())).thenReturn(true);
+
+        try {
+            paymentAccountService.assign("DUMMY", createFakeAssignmentRequest("1", testAddress.getUuid().toString()));
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_ASSIGNED));
+        }
+        verify(userProfileViewUpdater, never()).invalidateUser(anyString());
+    }
+
+    @Test
+    public void unassign_anAssignmentThatDoesNotExistShouldReturnAnException() throws ApplicationException {
+        when(paymentAccountRepository.findByPbaNumber("DUMMY")).thenReturn(Optional.of(paymentAccount));
+        when(professionalUserService.retrieve("1")).thenReturn(Optional.of(testProfessionalUser));
+        when(addressRepository.existsById(testAddress.getUuid())).thenReturn(true);
+
+        try {
+            paymentAccountService.unassign("DUMMY", createFakeAssignmentRequest("1", testAddress.getUuid().toString()));
+            fail();
+        } catch (ApplicationException e) {
+            assertThat(e.getApplicationErrorCode(), equalTo(ApplicationErrorCode.PAYMENT_ACCOUNT_CAN_NOT_BE_UNASSIGNED));
+        }
     }
 
 }
@@ -1,9 +1,16 @@
 package uk.gov.hmcts.reform.ref.pup.service.impl;
 
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeEvent;
+import uk.gov.hmcts.reform.ref.pup.domain.ChangeType;
+import uk.gov.hmcts.reform.ref.pup.domain.Organisation;
 import uk.gov.hmcts.reform.ref.pup.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserCreation;
+import uk.gov.hmcts.reform.ref.pup.dto.ProfessionalUserDto;
 import uk.gov.hmcts.reform.ref.pup.exception.ApplicationException;
 import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.service.ChangeEventService;
+import uk.gov.hmcts.reform.ref.pup.service.OrganisationService;
+import uk.gov.hmcts.reform.ref.pup.view.UserProfileViewUpdater;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -12,12 +19,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,12 +49,27 @@ public class ProfessionalUserServiceImplTest {
     @Mock
     private ProfessionalUserRepository professionalUserRepository;
 
+    @Mock
+    private OrganisationService organisationService;
+
+    @Mock
+    private UserProfileViewUpdater userProfileViewUpdater;
+
+    @Mock
+    private ChangeEventService changeEventService;
+
     @InjectMocks
     private ProfessionalUserServiceImpl professionalUserService;
 
     @Captor
     ArgumentCaptor<ProfessionalUser> professionalUserCaptor;
 
+    @Captor
+    ArgumentCaptor<List<ProfessionalUser>> professionalUsersCaptor;
+
+    @Captor
+    ArgumentCaptor<List<ChangeEvent>> changeEventsCaptor;
+
     private ProfessionalUserCreation testUserRequest;
     private ProfessionalUser testUser;
 
@@ -66,24 +102,54 @@ public class ProfessionalUserServiceImplTest {
     }
 
 
-    private ProfessionalUser createFakeProfessionalUserWithSameEmail() {
-        ProfessionalUser foolTestUser = new ProfessionalUser();
-        foolTestUser.setEmail("DUMMY@DUMMY.com");
-        foolTestUser.setFirstName("FOOL");
-        foolTestUser.setPhoneNumber("FOOL");
-        foolTestUser.setSurname("FOOL");
-        foolTestUser.setUserId("FOOL");
-        return foolTestUser;
-    }
-
     @Test(expected = ApplicationException.class)
     public void createWithAnAlreadyUsedEmailShouldReturnAnException() throws ApplicationException {
-        when(professionalUserRepository.findOneByEmail(testUser.getEmail())).thenReturn(Optional.of(createFakeProfessionalUserWithSameEmail()));
-        when(professionalUserRepository.save(testUser)).thenReturn(testUser);
+        when(organisationService.retrieve(UUID.fromString(testUserRequest.getOrganisationId()))).thenReturn(Optional.of(new Organisation()));
+        when(professionalUserRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("idx_professional_user_email"));
 
         professionalUserService.create(testUserRequest);
     }
 
+    @Test
+    public void createAll_shouldSaveAllTheUsersOfTheOrganisationAtOnce() throws ApplicationException {
+        Organisation organisation = new Organisation();
+        organisation.setUuid(UUID.randomUUID());
+        ProfessionalUserCreation secondUserRequest = createFakeProfessionalUserRequest();
+        secondUserRequest.setUserId("DUMMY2");
+        secondUserRequest.setEmail("DUMMY2@DUMMY.com");
+        when(organisationService.retrieve(organisation.getUuid())).thenReturn(Optional.of(organisation));
+
+        List<ProfessionalUser> professionalUsers = professionalUserService.createAll(organisation.getUuid(), Arrays.asList(testUserRequest, secondUserRequest));
+
+        verify(professionalUserRepository).saveAll(professionalUsersCaptor.capture());
+        assertThat(professionalUsersCaptor.getValue(), equalTo(professionalUsers));
+        assertThat(professionalUsers.get(1).getUserId(), equalTo("DUMMY2"));
+        assertThat(professionalUsers.get(1).getOrganisation(), equalTo(organisation));
+        verify(userProfileViewUpdater).invalidateUser("DUMMY");
+        verify(userProfileViewUpdater).invalidateUser("DUMMY2");
+        verify(changeEventService).recordAll(changeEventsCaptor.capture());
+        assertThat(changeEventsCaptor.getValue().get(1).getEntityId(), equalTo("DUMMY2"));
+        assertThat(changeEventsCaptor.getValue().get(1).getChangeType(), equalTo(ChangeType.CREATED));
+        assertThat(changeEventsCaptor.getValue().get(1).getOrganisationId(), equalTo(organisation.getUuid()));
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void createAll_withTheSameEmailTwiceShouldReturnAnException() throws ApplicationException {
+        try {
+            professionalUserService.createAll(UUID.randomUUID(), Arrays.asList(testUserRequest, createFakeProfessionalUserRequest()));
+        } finally {
+            verify(professionalUserRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Test(expected = ApplicationException.class)
+    public void createAll_withAnAlreadyUsedEmailShouldReturnAnException() throws ApplicationException {
+        when(organisationService.retrieve(any())).thenReturn(Optional.of(new Organisation()));
+        doThrow(new DataIntegrityViolationException("idx_professional_user_email")).when(professionalUserRepository).flush();
+
+        professionalUserService.createAll(UUID.randomUUID(), Collections.singletonList(testUserRequest));
+    }
+
     @Test
     public void retrieve() throws ApplicationException {
         when(professionalUserRepository.findOneByUserId(testUser.getUserId())).thenReturn(Optional.of(testUser));
@@ -93,11 +159,72 @@ public class ProfessionalUserServiceImplTest {
         assertThat(retrieve.get().getUserId(), equalTo(testUser.getUserId()));
     }
 
+    @Test
+    public void retrieveDto() throws ApplicationException {
+        ProfessionalUserDto userDto = new ProfessionalUserDto(UUID.randomUUID(), testUser.getUserId(), "Alexis", "GAYTE", "alexis.gayte@gmail.com", null);
+        when(professionalUserRepository.findDtoByUserId(testUser.getUserId())).thenReturn(Optional.of(userDto));
+
+        Optional<ProfessionalUserDto> retrieve = professionalUserService.retrieveDto(testUser.getUserId());
+
+        assertThat(retrieve.get(), equalTo(userDto));
+    }
+
+    @Test
+    public void retrieveWithFullDetail_shouldAlsoFetchTheOrganisationAddresses() throws ApplicationException {
+        Organisation organisation = new Organisation();
+        organisation.setUuid(UUID.randomUUID());
+        testUser.setOrganisation(organisation);
+        when(professionalUserRepository.findWithFullDetailByUserId(testUser.getUserId())).thenReturn(Optional.of(testUser));
+
+        Optional<ProfessionalUser> retrieve = professionalUserService.retrieveWithFullDetail(testUser.getUserId());
+
+        assertThat(retrieve.get().getUserId(), equalTo(testUser.getUserId()));
+        verify(organisationService, only()).retrieveWithAddresses(organisation.getUuid());
+    }
+
+    @Test
+    public void search_byOrganisationAndEmailDomainShouldUseTheCombinedKeysetQuery() throws ApplicationException {
+        UUID organisationUuid = UUID.randomUUID();
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("userId"));
+        Slice<ProfessionalUser> slice = new SliceImpl<>(Collections.singletonList(testUser));
+        when(professionalUserRepository.findByOrganisationUuidAndEmailDomainAndUserIdGreaterThan(organisationUuid, "dummy.com", "A", pageable)).thenReturn(slice);
+
+        Slice<ProfessionalUser> result = professionalUserService.search(organisationUuid, "DUMMY.com", "A", 10);
+
+        assertThat(result, equalTo(slice));
+    }
+
+    @Test
+    public void search_withoutFilterShouldOnlyUseTheUserIdKeyset() throws ApplicationException {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("userId"));
+        Slice<ProfessionalUser> slice = new SliceImpl<>(Collections.singletonList(testUser));
+        when(professionalUserRepository.findByUserIdGreaterThan("", pageable)).thenReturn(slice);
+
+        Slice<ProfessionalUser> result = professionalUserService.search(null, null, "", 10);
+
+        assertThat(result, equalTo(slice));
+        verify(professionalUserRepository, only()).findByUserIdGreaterThan("", pageable);
+    }
+
     @Test
     public void delete() throws ApplicationException {
+        when(professionalUserRepository.findOrganisationUuidByUserId(testUser.getUserId())).thenReturn(Optional.of(UUID.randomUUID()));
+        when(professionalUserRepository.softDeleteByUserId(eq(testUser.getUserId()), any())).thenReturn(1);
+
+        professionalUserService.delete(testUser.getUserId());
+
+        verify(professionalUserRepository).softDeleteByUserId(eq(testUser.getUserId()), any());
+        verify(changeEventService, only()).record(any());
+        verify(userProfileViewUpdater, only()).invalidateUser(testUser.getUserId());
+    }
+
+    @Test
+    public void delete_withAnUnknownUserShouldNotRecordAChange() throws ApplicationException {
+        when(professionalUserRepository.findOrganisationUuidByUserId(testUser.getUserId())).thenReturn(Optional.empty());
 
         professionalUserService.delete(testUser.getUserId());
 
-        verify(professionalUserRepository, only()).deleteByUserId(testUser.getUserId());
+        verify(professionalUserRepository, never()).softDeleteByUserId(any(), any());
+        verify(changeEventService, never()).record(any());
     }
 }
@@ -0,0 +1,113 @@
+package uk.gov.hmcts.reform.ref.pup.view;
+
+import uk.gov.hmcts.reform.ref.pup.cache.ProfessionalUserFullDetailCache;
+import uk.gov.hmcts.reform.ref.pup.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.ref.pup.repository.UserProfileViewRepository;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserProfileViewUpdaterTest {
+
+    private final ProfessionalUserRepository professionalUserRepository = mock(ProfessionalUserRepository.class);
+
+    private final UserProfileViewRepository userProfileViewRepository = mock(UserProfileViewRepository.class);
+
+    private final UserProfileViewStore userProfileViewStore = mock(UserProfileViewStore.class);
+
+    private final ProfessionalUserFullDetailCache professionalUserFullDetailCache = mock(ProfessionalUserFullDetailCache.class);
+
+    private final TaskExecutor userProfileViewExecutor = spy(new SyncTaskExecutor());
+
+    private final UserProfileViewUpdater userProfileViewUpdater =
+        new UserProfileViewUpdater(professionalUserRepository, userProfileViewRepository, userProfileViewStore, professionalUserFullDetailCache,
+            userProfileViewExecutor, 2, 10);
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void invalidateOrganisation_shouldInvalidateAndRebuildTheUsersOfTheOrganisation() throws Exception {
+        UUID organisationUuid = UUID.randomUUID();
+        when(professionalUserRepository.findUserIdsByOrganisationUuid(organisationUuid)).thenReturn(Arrays.asList("1", "2"));
+
+        userProfileViewUpdater.invalidateOrganisation(organisationUuid);
+
+        verify(userProfileViewStore).invalidate(Arrays.asList("1", "2"));
+        verify(professionalUserFullDetailCache).evict(Arrays.asList("1", "2"));
+        verify(userProfileViewStore).rebuild("1");
+        verify(userProfileViewStore).rebuild("2");
+    }
+
+    @Test
+    public void invalidatePaymentAccount_shouldInvalidateTheUsersOfTheOwningOrganisation() {
+        when(professionalUserRepository.findUserIdsByPbaNumber("PBA0012345")).thenReturn(Collections.singletonList("3"));
+
+        userProfileViewUpdater.invalidatePaymentAccount("PBA0012345");
+
+        verify(userProfileViewStore).invalidate(Collections.singletonList("3"));
+    }
+
+    @Test
+    public void invalidateUser_insideATransactionShouldRebuildOnTheExecutorAfterTheCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        userProfileViewUpdater.invalidateUser("1");
+
+        verify(userProfileViewStore).invalidate(Collections.singletonList("1"));
+        verify(userProfileViewExecutor, never()).execute(any());
+        verify(userProfileViewStore, never()).rebuild("1");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(userProfileViewExecutor).execute(any());
+        verify(userProfileViewStore).rebuild("1");
+    }
+
+    @Test
+    public void invalidateUser_shouldRebuildTheViewAgainAfterAConcurrentInsert() throws Exception {
+        doThrow(new DuplicateKeyException("user_profile_view_pkey")).doNothing().when(userProfileViewStore).rebuild("1");
+
+        userProfileViewUpdater.invalidateUser("1");
+
+        verify(userProfileViewStore, times(2)).rebuild("1");
+    }
+
+    @Test
+    public void backfill_shouldRebuildTheUsersWithoutAViewAChunkAtATime() throws Exception {
+        when(userProfileViewRepository.findUserIdsWithoutViewAfter("", PageRequest.of(0, 2))).thenReturn(Arrays.asList("1", "2"));
+        when(userProfileViewRepository.findUserIdsWithoutViewAfter("2", PageRequest.of(0, 2))).thenReturn(Collections.singletonList("3"));
+
+        assertThat(userProfileViewUpdater.backfill(), equalTo(3));
+
+        verify(userProfileViewStore).rebuild("1");
+        verify(userProfileViewStore).rebuild("2");
+        verify(userProfileViewStore).rebuild("3");
+        verify(userProfileViewStore, never()).invalidate(any());
+    }
+}